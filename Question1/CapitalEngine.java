@@ -0,0 +1,148 @@
+package Question1;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+// Primitive version of Question1.maximizeCapital for very large portfolios.
+// Each project is packed as (investment << 32 | revenue) into a single long[],
+// sorted by investment, and selected through an int max-heap. Capital is a long
+// so it cannot overflow the way the int version does.
+public final class CapitalEngine {
+    // Below this size Arrays.sort beats the radix passes
+    private static final int RADIX_THRESHOLD = 1 << 16;
+
+    private CapitalEngine() {}
+
+    public static long maximizeCapital(int k, long c, int[] revenues, int[] investments) {
+        long[] projects = pack(revenues, investments);
+        sortByInvestment(projects);
+        return select(k, c, projects, new IntMaxHeap(Math.min(projects.length, k)));
+    }
+
+    // Capital after each of 1..maxK picks from a single greedy pass.
+    // Once nothing is affordable the remaining entries repeat the final capital.
+    public static long[] capitalCurve(int maxK, long c, int[] revenues, int[] investments) {
+        long[] projects = pack(revenues, investments);
+        sortByInvestment(projects);
+
+        long[] curve = new long[Math.max(maxK, 0)];
+        IntMaxHeap maxHeap = new IntMaxHeap(Math.min(projects.length, maxK));
+        int n = projects.length;
+        int i = 0;
+        int j = 0;
+        for (; j < curve.length; j++) {
+            while (i < n && investment(projects[i]) <= c) {
+                maxHeap.push(revenue(projects[i]));
+                i++;
+            }
+            if (maxHeap.isEmpty()) {
+                break;
+            }
+            c += maxHeap.pop();
+            curve[j] = c;
+        }
+        Arrays.fill(curve, j, curve.length, c);
+        return curve;
+    }
+
+    // Answers many (k, c) scenarios against one shared sorted index
+    public static long[] maximizeCapital(int[] ks, long[] capitals, int[] revenues, int[] investments) {
+        return maximizeCapital(ks, capitals, revenues, investments, ForkJoinPool.commonPool());
+    }
+
+    public static long[] maximizeCapital(int[] ks, long[] capitals, int[] revenues, int[] investments,
+                                         ForkJoinPool pool) {
+        if (ks.length != capitals.length) {
+            throw new IllegalArgumentException("Every scenario needs both k and an initial capital");
+        }
+        long[] projects = pack(revenues, investments);
+        sortByInvestment(projects);
+
+        // The sorted index is read-only, so scenarios only need their own heap
+        long[] results = new long[ks.length];
+        pool.submit(() -> IntStream.range(0, ks.length).parallel().forEach(q ->
+            results[q] = select(ks[q], capitals[q], projects,
+                                new IntMaxHeap(Math.min(projects.length, ks[q])))
+        )).join();
+        return results;
+    }
+
+    // Greedy selection over projects already sorted by investment
+    static long select(int k, long c, long[] sorted, IntMaxHeap maxHeap) {
+        int n = sorted.length;
+        int i = 0;
+        for (int j = 0; j < k; j++) {
+            // Add all affordable projects to the max-heap
+            while (i < n && investment(sorted[i]) <= c) {
+                maxHeap.push(revenue(sorted[i]));
+                i++;
+            }
+
+            // No more projects we can afford
+            if (maxHeap.isEmpty()) {
+                break;
+            }
+
+            c += maxHeap.pop();
+        }
+        return c;
+    }
+
+    static long[] pack(int[] revenues, int[] investments) {
+        if (revenues.length != investments.length) {
+            throw new IllegalArgumentException("Revenue and investment arrays must have the same length");
+        }
+        long[] projects = new long[revenues.length];
+        for (int i = 0; i < projects.length; i++) {
+            projects[i] = pack(investments[i], revenues[i]);
+        }
+        return projects;
+    }
+
+    static long pack(int investment, int revenue) {
+        return ((long) investment << 32) | (revenue & 0xFFFFFFFFL);
+    }
+
+    static int investment(long project) {
+        return (int) (project >> 32);
+    }
+
+    static int revenue(long project) {
+        return (int) project;
+    }
+
+    // Orders packed projects by investment; only the high 32 bits matter for the greedy
+    static void sortByInvestment(long[] projects) {
+        if (projects.length < RADIX_THRESHOLD) {
+            Arrays.sort(projects);
+            return;
+        }
+
+        // LSD radix sort on the investment word, two 16-bit passes.
+        // The sign bit is flipped so negative investments order first.
+        long[] buffer = new long[projects.length];
+        long[] src = projects, dst = buffer;
+        int[] counts = new int[(1 << 16) + 1];
+        for (int shift = 32; shift < 64; shift += 16) {
+            Arrays.fill(counts, 0);
+            for (long p : src) {
+                counts[digit(p, shift) + 1]++;
+            }
+            for (int d = 0; d < 1 << 16; d++) {
+                counts[d + 1] += counts[d];
+            }
+            for (long p : src) {
+                dst[counts[digit(p, shift)]++] = p;
+            }
+            long[] tmp = src;
+            src = dst;
+            dst = tmp;
+        }
+        // Two passes leave the result back in the caller's array
+    }
+
+    private static int digit(long project, int shift) {
+        return (int) (((project ^ Long.MIN_VALUE) >>> shift) & 0xFFFF);
+    }
+}
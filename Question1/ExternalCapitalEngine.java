@@ -0,0 +1,258 @@
+package Question1;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+// File-backed version of CapitalEngine for catalogs that do not fit in the heap.
+// Records are read through memory-mapped windows, sorted into spill runs of at
+// most runCapacity projects, and the runs are merged lazily into the greedy heap.
+// Only projects the startup can currently afford are ever held in memory. Runs are
+// written and read through channels rather than mappings, so they can be deleted as
+// soon as their cursors are closed, on every platform.
+//
+// Catalog formats:
+//  BINARY: consecutive big-endian int pairs (investment, revenue), 8 bytes each
+//  CSV: one "investment,revenue" line per project; non-numeric lines are skipped
+public final class ExternalCapitalEngine {
+    public enum Format { BINARY, CSV }
+
+    private static final int DEFAULT_RUN_CAPACITY = 1 << 22;   // 32 MB of packed projects
+    private static final long MAP_WINDOW = 1L << 28;           // multiple of the 8-byte record
+    private static final int RUN_BUFFER = 1 << 16;             // bytes per spill read or write
+
+    private ExternalCapitalEngine() {}
+
+    public static long maximizeCapital(int k, long c, Path catalog, Format format) throws IOException {
+        Path spillDir = Paths.get(System.getProperty("java.io.tmpdir"));
+        return maximizeCapital(k, c, catalog, format, DEFAULT_RUN_CAPACITY, spillDir);
+    }
+
+    public static long maximizeCapital(int k, long c, Path catalog, Format format,
+                                       int runCapacity, Path spillDir) throws IOException {
+        if (runCapacity <= 0) {
+            throw new IllegalArgumentException("Run capacity must be positive");
+        }
+        List<Path> runs = new ArrayList<>();
+        try {
+            RunWriter writer = new RunWriter(runCapacity, spillDir, runs);
+            try (FileChannel channel = FileChannel.open(catalog, StandardOpenOption.READ)) {
+                if (format == Format.BINARY) {
+                    readBinary(channel, writer);
+                } else {
+                    readCsv(channel, writer);
+                }
+            }
+
+            // Small catalogs never touch the disk
+            if (runs.isEmpty()) {
+                long[] projects = writer.remaining();
+                CapitalEngine.sortByInvestment(projects);
+                return CapitalEngine.select(k, c, projects, new IntMaxHeap(Math.min(projects.length, k)));
+            }
+            writer.flush();
+            return selectFromRuns(k, c, runs);
+        } finally {
+            for (Path run : runs) {
+                Files.deleteIfExists(run);
+            }
+        }
+    }
+
+    private static void readBinary(FileChannel channel, RunWriter writer) throws IOException {
+        long size = channel.size();
+        if (size % 8 != 0) {
+            throw new IOException("Binary catalog length must be a multiple of 8 bytes");
+        }
+        for (long pos = 0; pos < size; pos += MAP_WINDOW) {
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, pos, Math.min(MAP_WINDOW, size - pos));
+            while (window.hasRemaining()) {
+                int investment = window.getInt();
+                int revenue = window.getInt();
+                writer.add(CapitalEngine.pack(investment, revenue));
+            }
+        }
+    }
+
+    private static void readCsv(FileChannel channel, RunWriter writer) throws IOException {
+        long size = channel.size();
+        // Parser state survives across window boundaries, so lines may straddle them
+        int field = 0;
+        long value = 0;
+        boolean negative = false, digits = false, skipLine = false;
+        int investment = 0;
+        for (long pos = 0; pos <= size; pos += MAP_WINDOW) {
+            long length = Math.min(MAP_WINDOW, size - pos);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, pos, length);
+            boolean last = pos + length >= size;
+            int limit = window.limit();
+            for (int i = 0; i <= limit; i++) {
+                byte b;
+                if (i < limit) {
+                    b = window.get(i);
+                } else if (last) {
+                    b = '\n';   // Terminate a final line without a newline
+                } else {
+                    break;
+                }
+
+                if (b == '\n') {
+                    if (!skipLine && field == 1 && digits) {
+                        writer.add(CapitalEngine.pack(investment, toInt(value, negative)));
+                    }
+                    field = 0;
+                    value = 0;
+                    negative = digits = skipLine = false;
+                } else if (skipLine || b == '\r' || b == ' ' || b == '\t') {
+                    continue;
+                } else if (b >= '0' && b <= '9') {
+                    value = value * 10 + (b - '0');
+                    digits = true;
+                    // Only a negative value may reach |Integer.MIN_VALUE|
+                    if (value > (negative ? Integer.MAX_VALUE + 1L : Integer.MAX_VALUE)) skipLine = true;
+                } else if (b == '-' && !digits && !negative) {
+                    negative = true;
+                } else if (b == ',' && field == 0 && digits) {
+                    investment = toInt(value, negative);
+                    field = 1;
+                    value = 0;
+                    negative = digits = false;
+                } else {
+                    // Header or malformed line
+                    skipLine = true;
+                }
+            }
+            if (last) break;
+        }
+    }
+
+    private static int toInt(long value, boolean negative) {
+        return (int) (negative ? -value : value);
+    }
+
+    // Merges the sorted runs on demand, pulling only projects affordable with the current capital
+    private static long selectFromRuns(int k, long c, List<Path> runs) throws IOException {
+        PriorityQueue<RunCursor> merge = new PriorityQueue<>(runs.size(), Comparator.comparingLong(r -> r.head));
+        List<RunCursor> cursors = new ArrayList<>(runs.size());
+        try {
+            for (Path run : runs) {
+                RunCursor cursor = new RunCursor(run);
+                cursors.add(cursor);
+                if (cursor.advance()) merge.offer(cursor);
+            }
+
+            IntMaxHeap maxHeap = new IntMaxHeap(1024);
+            for (int j = 0; j < k; j++) {
+                while (!merge.isEmpty() && CapitalEngine.investment(merge.peek().head) <= c) {
+                    RunCursor cursor = merge.poll();
+                    maxHeap.push(CapitalEngine.revenue(cursor.head));
+                    if (cursor.advance()) merge.offer(cursor);
+                }
+                if (maxHeap.isEmpty()) {
+                    break;
+                }
+                c += maxHeap.pop();
+            }
+            return c;
+        } finally {
+            // Release every run before the caller deletes it
+            for (RunCursor cursor : cursors) {
+                cursor.close();
+            }
+        }
+    }
+
+    // Buffers packed projects and spills each full buffer as a sorted run
+    private static final class RunWriter {
+        private final long[] buffer;
+        private final Path spillDir;
+        private final List<Path> runs;
+        private int size;
+
+        RunWriter(int capacity, Path spillDir, List<Path> runs) {
+            this.buffer = new long[capacity];
+            this.spillDir = spillDir;
+            this.runs = runs;
+        }
+
+        void add(long project) throws IOException {
+            if (size == buffer.length) {
+                flush();
+            }
+            buffer[size++] = project;
+        }
+
+        long[] remaining() {
+            return Arrays.copyOf(buffer, size);
+        }
+
+        void flush() throws IOException {
+            if (size == 0) return;
+            long[] run = size == buffer.length ? buffer : remaining();
+            CapitalEngine.sortByInvestment(run);
+
+            Path file = Files.createTempFile(spillDir, "capital-run", ".bin");
+            runs.add(file);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                ByteBuffer bytes = ByteBuffer.allocateDirect(RUN_BUFFER);
+                for (long project : run) {
+                    if (!bytes.hasRemaining()) {
+                        drain(channel, bytes);
+                    }
+                    bytes.putLong(project);
+                }
+                drain(channel, bytes);
+            }
+            size = 0;
+        }
+
+        private static void drain(FileChannel channel, ByteBuffer bytes) throws IOException {
+            bytes.flip();
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            bytes.clear();
+        }
+    }
+
+    // Sequential buffered reader over one spill run; closing it deletes the run
+    private static final class RunCursor implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer records = ByteBuffer.allocateDirect(RUN_BUFFER);
+        long head;
+
+        RunCursor(Path run) throws IOException {
+            channel = FileChannel.open(run, StandardOpenOption.READ, StandardOpenOption.DELETE_ON_CLOSE);
+            records.limit(0);
+        }
+
+        boolean advance() throws IOException {
+            if (records.remaining() < Long.BYTES) {
+                records.compact();
+                while (records.position() < Long.BYTES) {
+                    if (channel.read(records) < 0) break;
+                }
+                records.flip();
+                if (records.remaining() < Long.BYTES) return false;
+            }
+            head = records.getLong();
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
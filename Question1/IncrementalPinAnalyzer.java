@@ -0,0 +1,153 @@
+package Question1;
+
+// Keystroke-level PIN analysis for the live strength bar.
+// Mirrors the field's text in a gap buffer and keeps per-class character counts and
+// the number of triple repeats up to date for each edit, so an insert or remove only
+// looks at the edited characters and their two neighbours on each side instead of
+// rescanning the whole PIN. One instance per text field; not thread-safe.
+public class IncrementalPinAnalyzer implements CharSequence {
+    private char[] buffer = new char[32];
+    private int gapStart = 0;
+    private int gapEnd = buffer.length;
+
+    private int lowerCount, upperCount, digitCount, otherCount;
+    // Positions i >= 2 where text[i] == text[i - 1] == text[i - 2]
+    private int tripleCount;
+
+    @Override
+    public int length() {
+        return buffer.length - (gapEnd - gapStart);
+    }
+
+    @Override
+    public char charAt(int index) {
+        return index < gapStart ? buffer[index] : buffer[index + gapEnd - gapStart];
+    }
+
+    public void insert(int offset, CharSequence text) {
+        int n = length();
+        int added = text.length();
+        if (offset < 0 || offset > n) {
+            throw new IndexOutOfBoundsException("Insert offset " + offset + " outside 0.." + n);
+        }
+        if (added == 0) return;
+
+        // Triples that straddle the insertion point are broken apart
+        tripleCount -= countTriples(offset, offset + 1);
+
+        moveGap(offset);
+        ensureGap(added);
+        for (int i = 0; i < added; i++) {
+            char ch = text.charAt(i);
+            buffer[gapStart++] = ch;
+            adjustClass(ch, 1);
+        }
+
+        // New triples can only end inside the inserted text or just after it
+        tripleCount += countTriples(offset, offset + added + 1);
+    }
+
+    public void remove(int offset, int removed) {
+        int n = length();
+        if (offset < 0 || removed < 0 || offset + removed > n) {
+            throw new IndexOutOfBoundsException("Remove range " + offset + "+" + removed + " outside 0.." + n);
+        }
+        if (removed == 0) return;
+
+        tripleCount -= countTriples(offset, offset + removed + 1);
+
+        moveGap(offset);
+        for (int i = 0; i < removed; i++) {
+            adjustClass(buffer[gapEnd + i], -1);
+        }
+        gapEnd += removed;
+
+        // Characters on either side of the cut may now form triples
+        tripleCount += countTriples(offset, offset + 1);
+    }
+
+    public void reset(CharSequence text) {
+        gapStart = 0;
+        gapEnd = buffer.length;
+        lowerCount = upperCount = digitCount = otherCount = 0;
+        tripleCount = 0;
+        insert(0, text);
+    }
+
+    public int classMask() {
+        return (lowerCount > 0 ? PinAnalysis.LOWER : 0)
+             | (upperCount > 0 ? PinAnalysis.UPPER : 0)
+             | (digitCount > 0 ? PinAnalysis.DIGIT : 0)
+             | (otherCount > 0 ? PinAnalysis.OTHER : 0);
+    }
+
+    public int repeatSequences() {
+        return tripleCount;
+    }
+
+    public int strength() {
+        return PinAnalysis.strength(length(), classMask(), tripleCount);
+    }
+
+    // Full analysis of the current text, for when the change count is needed
+    public PinAnalysis analyze() {
+        return PinAnalysis.of(toString());
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return toString().substring(start, end);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(length());
+        sb.append(buffer, 0, gapStart);
+        sb.append(buffer, gapEnd, buffer.length - gapEnd);
+        return sb.toString();
+    }
+
+    // Number of triples ending at positions from..to (inclusive) of the current text
+    private int countTriples(int from, int to) {
+        int count = 0;
+        for (int i = Math.max(from, 2), end = Math.min(to, length() - 1); i <= end; i++) {
+            char ch = charAt(i);
+            if (ch == charAt(i - 1) && ch == charAt(i - 2)) count++;
+        }
+        return count;
+    }
+
+    private void adjustClass(char ch, int delta) {
+        switch (PinAnalysis.classOf(ch)) {
+            case PinAnalysis.LOWER: lowerCount += delta; break;
+            case PinAnalysis.UPPER: upperCount += delta; break;
+            case PinAnalysis.DIGIT: digitCount += delta; break;
+            default: otherCount += delta; break;
+        }
+    }
+
+    private void moveGap(int offset) {
+        if (offset < gapStart) {
+            int shift = gapStart - offset;
+            System.arraycopy(buffer, offset, buffer, gapEnd - shift, shift);
+            gapStart -= shift;
+            gapEnd -= shift;
+        } else if (offset > gapStart) {
+            int shift = offset - gapStart;
+            System.arraycopy(buffer, gapEnd, buffer, gapStart, shift);
+            gapStart += shift;
+            gapEnd += shift;
+        }
+    }
+
+    private void ensureGap(int needed) {
+        if (gapEnd - gapStart >= needed) return;
+        int tail = buffer.length - gapEnd;
+        int capacity = Math.max(buffer.length << 1, length() + needed + 16);
+        char[] grown = new char[capacity];
+        System.arraycopy(buffer, 0, grown, 0, gapStart);
+        System.arraycopy(buffer, gapEnd, grown, capacity - tail, tail);
+        buffer = grown;
+        gapEnd = capacity - tail;
+    }
+}
@@ -0,0 +1,61 @@
+package Question1;
+
+import java.util.Arrays;
+
+// Binary max-heap over primitive ints so revenues never get boxed
+final class IntMaxHeap {
+    private int[] heap;
+    private int size;
+
+    IntMaxHeap(int initialCapacity) {
+        heap = new int[Math.max(initialCapacity, 16)];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    void push(int value) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, heap.length << 1);
+        }
+        // Sift up
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] >= value) break;
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = value;
+    }
+
+    int peek() {
+        return heap[0];
+    }
+
+    int pop() {
+        int top = heap[0];
+        int last = heap[--size];
+        // Sift down
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = (i << 1) + 1;
+            if (child + 1 < size && heap[child + 1] > heap[child]) child++;
+            if (heap[child] <= last) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = last;
+        return top;
+    }
+}
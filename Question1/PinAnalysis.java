@@ -0,0 +1,175 @@
+package Question1;
+
+import java.util.Arrays;
+
+// One-pass PIN analysis shared by strongPINChanges and the strength indicator.
+// Characters are classified with a 128-entry ASCII lookup table (non-ASCII falls
+// back to Character), and repeat runs are recorded in the same pass, so both the
+// minimum-change count and the strength score come from a single scan. The change count
+// is scored by PinPolicy.BANK_DEFAULT's compiled evaluator from that summary.
+public final class PinAnalysis {
+    public static final int LOWER = 1;
+    public static final int UPPER = 2;
+    public static final int DIGIT = 4;
+    public static final int OTHER = 8;
+    public static final int REQUIRED = LOWER | UPPER | DIGIT;
+
+    static final int MIN_LENGTH = PinPolicy.DEFAULT_MIN_LENGTH;
+    static final int MAX_LENGTH = PinPolicy.DEFAULT_MAX_LENGTH;
+
+    private static final byte[] ASCII_CLASS = new byte[128];
+    static {
+        Arrays.fill(ASCII_CLASS, (byte) OTHER);
+        for (char ch = 'a'; ch <= 'z'; ch++) ASCII_CLASS[ch] = LOWER;
+        for (char ch = 'A'; ch <= 'Z'; ch++) ASCII_CLASS[ch] = UPPER;
+        for (char ch = '0'; ch <= '9'; ch++) ASCII_CLASS[ch] = DIGIT;
+    }
+
+    // Compiled after ASCII_CLASS, which compile() reads through classOf
+    private static final PinPolicy.Evaluator BANK_POLICY = PinPolicy.BANK_DEFAULT.compile();
+
+    private static final int[] NO_RUNS = new int[0];
+
+    private final int length;
+    private final int classMask;
+    // Lengths of runs of 3+ identical characters, in the order they occur
+    private final int[] repeatRuns;
+    private final int changes;
+
+    private PinAnalysis(int length, int classMask, int[] repeatRuns) {
+        this.length = length;
+        this.classMask = classMask;
+        this.repeatRuns = repeatRuns;
+        this.changes = BANK_POLICY.changes(length, classMask, repeatRuns);
+    }
+
+    public static PinAnalysis of(CharSequence pin) {
+        int n = pin.length();
+        int mask = 0;
+        int[] runs = NO_RUNS;
+        int runCount = 0;
+        int run = 0;
+        char prev = 0;
+        for (int i = 0; i < n; i++) {
+            char ch = pin.charAt(i);
+            mask |= classOf(ch);
+            if (i > 0 && ch == prev) {
+                run++;
+            } else {
+                if (run >= 3) {
+                    if (runCount == runs.length) runs = Arrays.copyOf(runs, Math.max(4, runCount << 1));
+                    runs[runCount++] = run;
+                }
+                run = 1;
+                prev = ch;
+            }
+        }
+        if (run >= 3) {
+            if (runCount == runs.length) runs = Arrays.copyOf(runs, runCount + 1);
+            runs[runCount++] = run;
+        }
+        return new PinAnalysis(n, mask, runCount == runs.length ? runs : Arrays.copyOf(runs, runCount));
+    }
+
+    public static PinAnalysis of(byte[] pin, int offset, int length) {
+        int mask = 0;
+        int[] runs = NO_RUNS;
+        int runCount = 0;
+        int run = 0;
+        byte prev = 0;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            byte b = pin[i];
+            mask |= b >= 0 ? ASCII_CLASS[b] : OTHER;
+            if (i > offset && b == prev) {
+                run++;
+            } else {
+                if (run >= 3) {
+                    if (runCount == runs.length) runs = Arrays.copyOf(runs, Math.max(4, runCount << 1));
+                    runs[runCount++] = run;
+                }
+                run = 1;
+                prev = b;
+            }
+        }
+        if (run >= 3) {
+            if (runCount == runs.length) runs = Arrays.copyOf(runs, runCount + 1);
+            runs[runCount++] = run;
+        }
+        return new PinAnalysis(length, mask, runCount == runs.length ? runs : Arrays.copyOf(runs, runCount));
+    }
+
+    static int classOf(char ch) {
+        if (ch < 128) return ASCII_CLASS[ch];
+        if (Character.isLowerCase(ch)) return LOWER;
+        if (Character.isUpperCase(ch)) return UPPER;
+        if (Character.isDigit(ch)) return DIGIT;
+        return OTHER;
+    }
+
+    static int missingTypes(int classMask) {
+        return Integer.bitCount(~classMask & REQUIRED);
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public int classMask() {
+        return classMask;
+    }
+
+    public boolean has(int characterClass) {
+        return (classMask & characterClass) != 0;
+    }
+
+    public int missingTypes() {
+        return missingTypes(classMask);
+    }
+
+    public int[] repeatRuns() {
+        return repeatRuns.clone();
+    }
+
+    // Number of positions that complete three identical characters in a row
+    public int repeatSequences() {
+        int count = 0;
+        for (int run : repeatRuns) {
+            count += run - 2;
+        }
+        return count;
+    }
+
+    public int changes() {
+        return changes;
+    }
+
+    public boolean isStrong() {
+        return changes == 0;
+    }
+
+    // 0-100 score shown by the live strength bar
+    public int strength() {
+        return strength(length, classMask, repeatSequences());
+    }
+
+    static int strength(int length, int classMask, int repeatSequences) {
+        int strength = 0;
+
+        // Length check (0-30 points)
+        if (length >= MIN_LENGTH && length <= MAX_LENGTH) {
+            strength += 30;
+        } else if (length > MAX_LENGTH) {
+            strength += 20;
+        } else {
+            strength += length * 5;
+        }
+
+        // Character type diversity (0-40 points)
+        strength += Integer.bitCount(classMask) * 10;
+
+        // No consecutive repeating characters (0-30 points)
+        strength += Math.max(0, 30 - repeatSequences * 10);
+
+        return Math.min(100, strength);
+    }
+}
@@ -0,0 +1,250 @@
+package Question1;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+// Headless batch audit of stored PINs against a PinPolicy (strongPINChanges by default).
+// The input is a newline-separated PIN file; it is memory-mapped in newline-aligned
+// chunks that are scanned in parallel straight from the mapped bytes, so no String
+// is created per record. Empty lines are skipped and a trailing '\r' is ignored.
+// Records are treated as single-byte (ASCII) PINs.
+//
+// Output: a histogram of required changes (the last bucket collects everything at or
+// above it) plus the byte offsets of every non-compliant record, written in file order
+// as 8-byte big-endian longs. Each chunk buffers at most OFFSET_BUFFER bytes of offsets
+// and spills the rest to a temporary file, and the spills are concatenated in chunk
+// order, so heap use does not grow with the number of non-compliant records. With a
+// PinBlocklist, records found in it are reported as non-compliant too, even when the
+// policy needs no changes.
+public final class PinAuditor {
+    static final int HISTOGRAM_BUCKETS = 64;
+    private static final long CHUNK_SIZE = 1L << 26;   // 64 MB per task
+    private static final int OFFSET_BUFFER = 1 << 16;  // Offset bytes a chunk holds before spilling
+
+    private PinAuditor() {}
+
+    public static final class Report {
+        private final long records;
+        private final long nonCompliant;
+        private final long blocklisted;
+        private final long[] histogram;
+
+        Report(long records, long nonCompliant, long blocklisted, long[] histogram) {
+            this.records = records;
+            this.nonCompliant = nonCompliant;
+            this.blocklisted = blocklisted;
+            this.histogram = histogram;
+        }
+
+        public long records() {
+            return records;
+        }
+
+        public long nonCompliant() {
+            return nonCompliant;
+        }
+
+        public long blocklisted() {
+            return blocklisted;
+        }
+
+        // histogram()[c] = number of records needing exactly c changes
+        public long[] histogram() {
+            return histogram.clone();
+        }
+    }
+
+    public static Report audit(Path pins, Path offsetsOut) throws IOException {
+        return audit(pins, offsetsOut, PinPolicy.BANK_DEFAULT.compile(), null, ForkJoinPool.commonPool());
+    }
+
+    // blocklist may be null to audit against the policy alone
+    public static Report audit(Path pins, Path offsetsOut, PinPolicy.Evaluator policy,
+                               PinBlocklist blocklist, ForkJoinPool pool) throws IOException {
+        try (FileChannel in = FileChannel.open(pins, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(offsetsOut, StandardOpenOption.CREATE,
+                     StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long[] bounds = chunkBounds(in);
+            int chunks = bounds.length - 1;
+
+            ChunkResult[] results = new ChunkResult[chunks];
+            try {
+                IOException[] failure = new IOException[1];
+                pool.submit(() -> IntStream.range(0, chunks).parallel().forEach(i -> {
+                    try {
+                        results[i] = auditChunk(in, bounds[i], bounds[i + 1], policy, blocklist);
+                    } catch (IOException e) {
+                        synchronized (failure) {
+                            failure[0] = e;
+                        }
+                    }
+                })).join();
+                if (failure[0] != null) throw failure[0];
+
+                // Concatenate in chunk order so offsets stay sorted
+                long records = 0, nonCompliant = 0, blocklisted = 0;
+                long[] histogram = new long[HISTOGRAM_BUCKETS];
+                for (ChunkResult result : results) {
+                    records += result.records;
+                    nonCompliant += result.offsetCount;
+                    blocklisted += result.blocklisted;
+                    for (int c = 0; c < HISTOGRAM_BUCKETS; c++) {
+                        histogram[c] += result.histogram[c];
+                    }
+                    result.writeTo(out);
+                }
+                return new Report(records, nonCompliant, blocklisted, histogram);
+            } finally {
+                for (ChunkResult result : results) {
+                    if (result != null) result.close();
+                }
+            }
+        }
+    }
+
+    // Splits the file at the first newline after every CHUNK_SIZE bytes
+    private static long[] chunkBounds(FileChannel in) throws IOException {
+        long size = in.size();
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+        long pos = CHUNK_SIZE;
+        while (pos < size) {
+            long newline = nextNewline(in, pos, size);
+            if (newline >= size) break;
+            bounds.add(newline + 1);
+            pos = newline + 1 + CHUNK_SIZE;
+        }
+        bounds.add(size);
+        return bounds.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static long nextNewline(FileChannel in, long from, long size) throws IOException {
+        ByteBuffer probe = ByteBuffer.allocate(1 << 12);
+        long pos = from;
+        while (pos < size) {
+            probe.clear();
+            int read = in.read(probe, pos);
+            if (read <= 0) break;
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') return pos + i;
+            }
+            pos += read;
+        }
+        return size;
+    }
+
+    private static ChunkResult auditChunk(FileChannel in, long start, long end,
+                                          PinPolicy.Evaluator policy, PinBlocklist blocklist) throws IOException {
+        if (end - start > Integer.MAX_VALUE) {
+            throw new IOException("Record starting near offset " + start + " is too long to map");
+        }
+        MappedByteBuffer chunk = in.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        ChunkResult result = new ChunkResult();
+        int limit = chunk.limit();
+        int lineStart = 0;
+        try {
+            for (int i = 0; i <= limit; i++) {
+                if (i < limit && chunk.get(i) != '\n') continue;
+
+                int lineEnd = i;
+                if (lineEnd > lineStart && chunk.get(lineEnd - 1) == '\r') lineEnd--;
+                if (lineEnd > lineStart) {
+                    int changes = policy.changes(chunk, lineStart, lineEnd);
+                    boolean listed = blocklist != null && blocklist.mightContain(chunk, lineStart, lineEnd);
+                    result.add(start + lineStart, changes, listed);
+                }
+                lineStart = i + 1;
+            }
+        } catch (IOException e) {
+            result.close();
+            throw e;
+        }
+        return result;
+    }
+
+    private static void drain(ByteBuffer buffer, FileChannel out) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // Per-chunk totals; offsets beyond the buffer go to a spill file deleted on close
+    private static final class ChunkResult implements Closeable {
+        final long[] histogram = new long[HISTOGRAM_BUCKETS];
+        final ByteBuffer offsets = ByteBuffer.allocate(OFFSET_BUFFER);
+        FileChannel spill;
+        long offsetCount;
+        long records;
+        long blocklisted;
+
+        void add(long offset, int changes, boolean listed) throws IOException {
+            records++;
+            histogram[Math.min(changes, HISTOGRAM_BUCKETS - 1)]++;
+            if (listed) blocklisted++;
+            if (changes == 0 && !listed) return;
+            if (offsets.remaining() < Long.BYTES) {
+                if (spill == null) {
+                    spill = FileChannel.open(Files.createTempFile("pin-offsets", ".bin"), StandardOpenOption.READ,
+                                             StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE);
+                }
+                drain(offsets, spill);
+            }
+            offsets.putLong(offset);
+            offsetCount++;
+        }
+
+        // Appends the spilled offsets, then the buffered ones
+        void writeTo(FileChannel out) throws IOException {
+            if (spill != null) {
+                for (long pos = 0, size = spill.size(); pos < size; ) {
+                    pos += spill.transferTo(pos, size - pos, out);
+                }
+            }
+            drain(offsets, out);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (spill != null) spill.close();
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || args.length > 3) {
+            System.err.println("Usage: java Question1.PinAuditor <pins.txt> <offsets.bin> [blocklist.bin]");
+            System.exit(1);
+        }
+        long startTime = System.nanoTime();
+        PinBlocklist blocklist = args.length == 3 ? PinBlocklist.load(Paths.get(args[2])) : null;
+        Report report = audit(Paths.get(args[0]), Paths.get(args[1]), PinPolicy.BANK_DEFAULT.compile(),
+                              blocklist, ForkJoinPool.commonPool());
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+
+        System.out.println("Records audited: " + report.records());
+        System.out.println("Non-compliant:   " + report.nonCompliant());
+        if (blocklist != null) {
+            System.out.println("Blocklisted:     " + report.blocklisted());
+        }
+        System.out.println("Required changes histogram:");
+        long[] histogram = report.histogram();
+        for (int c = 0; c < histogram.length; c++) {
+            if (histogram[c] == 0) continue;
+            String label = c == histogram.length - 1 ? c + "+" : String.valueOf(c);
+            System.out.printf("  %4s : %d%n", label, histogram[c]);
+        }
+        System.out.printf("Elapsed: %.3f s%n", seconds);
+    }
+}
@@ -0,0 +1,183 @@
+package Question1;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+// Bloom-filter blocklist of common leaked PINs, checked next to strongPINChanges.
+// The filter is built once from a newline-separated word list and saved as a binary
+// file; loading maps that file read-only, so the bit array lives off-heap and startup
+// does not re-read the word list. Lookups hash the PIN once and probe k bits.
+//
+// File layout (big-endian): int magic, int version, long bit count, int hash count,
+// int reserved, long entry count, then the bit array as longs.
+// PINs are hashed per char, so byte lookups agree with char lookups for ASCII PINs.
+public final class PinBlocklist {
+    private static final int MAGIC = 0x50424C46;   // "PBLF"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final LongBuffer bits;
+    private final long bitCount;
+    private final int hashCount;
+    private final long entries;
+
+    private PinBlocklist(LongBuffer bits, long bitCount, int hashCount, long entries) {
+        this.bits = bits;
+        this.bitCount = bitCount;
+        this.hashCount = hashCount;
+        this.entries = entries;
+    }
+
+    public static PinBlocklist build(Path wordList, Path filterFile, double falsePositiveRate) throws IOException {
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("False-positive rate must be between 0 and 1");
+        }
+
+        // First pass only counts entries so the filter can be sized exactly
+        long entries = 0;
+        try (BufferedReader reader = Files.newBufferedReader(wordList, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.trim().isEmpty()) entries++;
+            }
+        }
+
+        long n = Math.max(entries, 1);
+        double ln2 = Math.log(2);
+        long bitCount = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (ln2 * ln2));
+        bitCount = Math.max(64, (bitCount + 63) & ~63L);
+        int hashCount = Math.max(1, (int) Math.round((double) bitCount / n * ln2));
+        long fileSize = HEADER_BYTES + bitCount / 8;
+        if (fileSize > Integer.MAX_VALUE) {
+            throw new IOException("Blocklist too large for a single mapped file");
+        }
+
+        Files.deleteIfExists(filterFile);
+        try (FileChannel channel = FileChannel.open(filterFile, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+            map.putInt(MAGIC).putInt(VERSION).putLong(bitCount).putInt(hashCount).putInt(0).putLong(entries);
+            PinBlocklist filter = new PinBlocklist(map.slice().asLongBuffer(),
+                                                   bitCount, hashCount, entries);
+            try (BufferedReader reader = Files.newBufferedReader(wordList, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String pin = line.trim();
+                    if (!pin.isEmpty()) filter.add(hash(pin));
+                }
+            }
+            map.force();
+        }
+        return load(filterFile);
+    }
+
+    public static PinBlocklist load(Path filterFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(filterFile, StandardOpenOption.READ)) {
+            MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (map.remaining() < HEADER_BYTES || map.getInt() != MAGIC || map.getInt() != VERSION) {
+                throw new IOException("Not a PIN blocklist file: " + filterFile);
+            }
+            long bitCount = map.getLong();
+            int hashCount = map.getInt();
+            map.getInt();
+            long entries = map.getLong();
+            if (channel.size() != HEADER_BYTES + bitCount / 8) {
+                throw new IOException("Truncated PIN blocklist file: " + filterFile);
+            }
+            return new PinBlocklist(map.slice().asLongBuffer(), bitCount, hashCount, entries);
+        }
+    }
+
+    public boolean mightContain(CharSequence pin) {
+        return probe(hash(pin));
+    }
+
+    // Checks bytes [from, to) of a buffer, e.g. one record of a mapped PIN file
+    public boolean mightContain(ByteBuffer pin, int from, int to) {
+        long h = FNV_OFFSET;
+        for (int i = from; i < to; i++) {
+            h = (h ^ (pin.get(i) & 0xFF)) * FNV_PRIME;
+        }
+        return probe(h);
+    }
+
+    public long entries() {
+        return entries;
+    }
+
+    public long bitCount() {
+        return bitCount;
+    }
+
+    public int hashCount() {
+        return hashCount;
+    }
+
+    // Theoretical false-positive rate for the number of entries actually inserted
+    public double expectedFalsePositiveRate() {
+        return Math.pow(1 - Math.exp(-(double) hashCount * entries / bitCount), hashCount);
+    }
+
+    private static long hash(CharSequence pin) {
+        long h = FNV_OFFSET;
+        for (int i = 0; i < pin.length(); i++) {
+            h = (h ^ pin.charAt(i)) * FNV_PRIME;
+        }
+        return h;
+    }
+
+    // Finalizer from MurmurHash3, spreads the FNV state over all 64 bits
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    // Double hashing: bit i is h1 + i * h2 (mod bitCount)
+    private void add(long h) {
+        long h1 = mix(h);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            int word = (int) (bit >>> 6);
+            bits.put(word, bits.get(word) | (1L << bit));
+        }
+    }
+
+    private boolean probe(long h) {
+        long h1 = mix(h);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: java Question1.PinBlocklist <wordlist.txt> <blocklist.bin> [falsePositiveRate]");
+            System.exit(1);
+        }
+        double rate = args.length > 2 ? Double.parseDouble(args[2]) : 0.001;
+        long startTime = System.nanoTime();
+        PinBlocklist filter = build(Paths.get(args[0]), Paths.get(args[1]), rate);
+        System.out.printf("Built blocklist: %d entries, %d bits, %d hashes, expected FPR %.5f in %.3f s%n",
+                          filter.entries(), filter.bitCount(), filter.hashCount(),
+                          filter.expectedFalsePositiveRate(), (System.nanoTime() - startTime) / 1e9);
+    }
+}
@@ -0,0 +1,65 @@
+package Question1;
+
+// Classifies a PIN held in a byte array for batch workloads: which character classes
+// occur and whether three identical bytes appear in a row. A PIN whose length is in
+// range, has every required class and no triple repeat needs no changes, so batch
+// callers can use this as a fast compliance check before computing exact counts.
+//
+// best() returns the Vector API implementation when vector/Question1/VectorPinClassifier
+// was compiled onto the classpath and jdk.incubator.vector is available at run time
+// (--add-modules jdk.incubator.vector), and the scalar one otherwise.
+public interface PinClassifier {
+    int TRIPLE_REPEAT = 1 << 30;
+
+    // PinAnalysis class bits of bytes [from, to), plus TRIPLE_REPEAT if a triple occurs
+    int classify(byte[] pins, int from, int to);
+
+    default boolean isCompliant(byte[] pins, int from, int to) {
+        int length = to - from;
+        return length >= PinPolicy.DEFAULT_MIN_LENGTH && length <= PinPolicy.DEFAULT_MAX_LENGTH
+            && (classify(pins, from, to) & (PinAnalysis.REQUIRED | TRIPLE_REPEAT)) == PinAnalysis.REQUIRED;
+    }
+
+    static PinClassifier scalar() {
+        return ScalarPinClassifier.INSTANCE;
+    }
+
+    static PinClassifier best() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                // Loaded reflectively so the scalar path never links against the incubator module
+                return (PinClassifier) Class.forName("Question1.VectorPinClassifier")
+                                            .getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError ex) {
+                // Fall through to the scalar classifier
+            }
+        }
+        return scalar();
+    }
+}
+
+// Table-driven byte-at-a-time classifier
+final class ScalarPinClassifier implements PinClassifier {
+    static final ScalarPinClassifier INSTANCE = new ScalarPinClassifier();
+
+    private final int[] asciiClasses = new int[128];
+
+    private ScalarPinClassifier() {
+        for (char ch = 0; ch < 128; ch++) {
+            asciiClasses[ch] = PinAnalysis.classOf(ch);
+        }
+    }
+
+    @Override
+    public int classify(byte[] pins, int from, int to) {
+        int mask = 0;
+        for (int i = from; i < to; i++) {
+            byte b = pins[i];
+            mask |= b >= 0 ? asciiClasses[b] : PinAnalysis.OTHER;
+            if (i >= from + 2 && b == pins[i - 1] && b == pins[i - 2]) {
+                mask |= TRIPLE_REPEAT;
+            }
+        }
+        return mask;
+    }
+}
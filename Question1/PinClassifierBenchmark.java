@@ -0,0 +1,75 @@
+package Question1;
+
+import java.util.Random;
+
+// Compares the scalar and Vector API classifiers with the existing strongPINChanges path.
+// Compile vector/ with --add-modules jdk.incubator.vector onto the same output, then run with:
+//   java --add-modules jdk.incubator.vector Question1.PinClassifierBenchmark [pins] [maxLength]
+// Without the module flag the "best" row falls back to the scalar classifier.
+public class PinClassifierBenchmark {
+    private static final String ALPHABET = "aaabcXYZZ0112!";
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int maxLength = args.length > 1 ? Integer.parseInt(args[1]) : 24;
+
+        // Random PINs packed back to back, with record start offsets
+        Random random = new Random(42);
+        int[] offsets = new int[count + 1];
+        for (int i = 0; i < count; i++) {
+            offsets[i + 1] = offsets[i] + 1 + random.nextInt(maxLength);
+        }
+        byte[] pins = new byte[offsets[count]];
+        for (int i = 0; i < pins.length; i++) {
+            pins[i] = (byte) ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+        }
+        String[] strings = new String[count];
+        for (int i = 0; i < count; i++) {
+            strings[i] = new String(pins, offsets[i], offsets[i + 1] - offsets[i], java.nio.charset.StandardCharsets.US_ASCII);
+        }
+
+        PinClassifier scalar = PinClassifier.scalar();
+        PinClassifier best = PinClassifier.best();
+        PinPolicy.Evaluator policy = PinPolicy.BANK_DEFAULT.compile();
+        System.out.println("Best classifier: " + best.getClass().getSimpleName());
+
+        // Both classifiers must agree with the exact change count
+        for (int i = 0; i < count; i++) {
+            boolean strong = Question1b.strongPINChanges(strings[i]) == 0;
+            if (scalar.isCompliant(pins, offsets[i], offsets[i + 1]) != strong
+                    || best.isCompliant(pins, offsets[i], offsets[i + 1]) != strong) {
+                throw new IllegalStateException("Classifier mismatch for PIN \"" + strings[i] + "\"");
+            }
+        }
+
+        for (int round = 0; round < 5; round++) {
+            boolean report = round >= 2;   // First rounds are JIT warm-up
+
+            long start = System.nanoTime();
+            long sink = 0;
+            for (String pin : strings) sink += Question1b.strongPINChanges(pin);
+            print(report, "strongPINChanges", start, count, sink);
+
+            start = System.nanoTime();
+            sink = 0;
+            for (int i = 0; i < count; i++) sink += policy.changes(pins, offsets[i], offsets[i + 1] - offsets[i]);
+            print(report, "PinPolicy bytes", start, count, sink);
+
+            start = System.nanoTime();
+            sink = 0;
+            for (int i = 0; i < count; i++) sink += scalar.classify(pins, offsets[i], offsets[i + 1]);
+            print(report, "scalar classify", start, count, sink);
+
+            start = System.nanoTime();
+            sink = 0;
+            for (int i = 0; i < count; i++) sink += best.classify(pins, offsets[i], offsets[i + 1]);
+            print(report, "best classify", start, count, sink);
+        }
+    }
+
+    private static void print(boolean report, String label, long start, int count, long sink) {
+        if (!report) return;
+        double nanos = System.nanoTime() - start;
+        System.out.printf("%-18s %8.2f ns/PIN   (checksum %d)%n", label, nanos / count, sink);
+    }
+}
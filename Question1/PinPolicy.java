@@ -0,0 +1,238 @@
+package Question1;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+// Configurable PIN policy: length limits, required character classes, the longest
+// allowed run of one repeated character, and optional custom classes.
+// compile() turns a policy into an Evaluator whose class table and limits are fixed,
+// so millions of PINs can be scored without looking at the configuration again.
+//
+// Required classes are a bitmask of PinAnalysis.LOWER/UPPER/DIGIT/OTHER plus the bit
+// returned by each withCustomClass call. BANK_DEFAULT matches strongPINChanges.
+public final class PinPolicy {
+    static final int DEFAULT_MIN_LENGTH = 6;
+    static final int DEFAULT_MAX_LENGTH = 20;
+    static final int DEFAULT_MAX_REPEAT = 2;
+
+    private static final int MAX_CUSTOM_CLASSES = 27;
+    private static final int FIRST_CUSTOM_BIT = PinAnalysis.OTHER << 1;
+
+    public static final PinPolicy BANK_DEFAULT = new PinPolicy(
+        DEFAULT_MIN_LENGTH, DEFAULT_MAX_LENGTH, PinAnalysis.REQUIRED, DEFAULT_MAX_REPEAT);
+
+    private final int minLength;
+    private final int maxLength;
+    private final int requiredClasses;
+    private final int maxRepeatRun;
+    // customMembers[c] lists the ASCII characters of custom class c
+    private final String[] customMembers;
+
+    public PinPolicy(int minLength, int maxLength, int requiredClasses, int maxRepeatRun) {
+        this(minLength, maxLength, requiredClasses, maxRepeatRun, new String[0]);
+    }
+
+    private PinPolicy(int minLength, int maxLength, int requiredClasses, int maxRepeatRun, String[] customMembers) {
+        if (minLength < 0 || maxLength < minLength) {
+            throw new IllegalArgumentException("Invalid length range: " + minLength + ".." + maxLength);
+        }
+        if (maxRepeatRun < 1) {
+            throw new IllegalArgumentException("Maximum repeat run must be at least 1");
+        }
+        if ((requiredClasses & ~((FIRST_CUSTOM_BIT << customMembers.length) - 1)) != 0) {
+            throw new IllegalArgumentException("Required classes reference an undefined class");
+        }
+        this.minLength = minLength;
+        this.maxLength = maxLength;
+        this.requiredClasses = requiredClasses;
+        this.maxRepeatRun = maxRepeatRun;
+        this.customMembers = customMembers;
+    }
+
+    // Returns a copy of this policy with one more custom class, required or not.
+    // Use customClassBit(index) to refer to it; index is the number of classes added before it.
+    public PinPolicy withCustomClass(String members, boolean required) {
+        if (customMembers.length == MAX_CUSTOM_CLASSES) {
+            throw new IllegalArgumentException("At most " + MAX_CUSTOM_CLASSES + " custom classes are supported");
+        }
+        for (int i = 0; i < members.length(); i++) {
+            if (members.charAt(i) >= 128) {
+                throw new IllegalArgumentException("Custom classes may only contain ASCII characters");
+            }
+        }
+        String[] custom = Arrays.copyOf(customMembers, customMembers.length + 1);
+        custom[customMembers.length] = members;
+        int bit = customClassBit(customMembers.length);
+        return new PinPolicy(minLength, maxLength, required ? requiredClasses | bit : requiredClasses,
+                             maxRepeatRun, custom);
+    }
+
+    public static int customClassBit(int index) {
+        return FIRST_CUSTOM_BIT << index;
+    }
+
+    public int minLength() {
+        return minLength;
+    }
+
+    public int maxLength() {
+        return maxLength;
+    }
+
+    public int requiredClasses() {
+        return requiredClasses;
+    }
+
+    public int maxRepeatRun() {
+        return maxRepeatRun;
+    }
+
+    public Evaluator compile() {
+        int[] asciiClasses = new int[128];
+        for (char ch = 0; ch < 128; ch++) {
+            asciiClasses[ch] = PinAnalysis.classOf(ch);
+        }
+        for (int c = 0; c < customMembers.length; c++) {
+            int bit = customClassBit(c);
+            String members = customMembers[c];
+            for (int i = 0; i < members.length(); i++) {
+                asciiClasses[members.charAt(i)] |= bit;
+            }
+        }
+        return new Evaluator(minLength, maxLength, requiredClasses, maxRepeatRun, asciiClasses);
+    }
+
+    // Immutable, thread-safe scorer for one policy.
+    // A run of L identical characters needs L / period replacements (period = maxRepeatRun + 1).
+    // An over-long PIN must lose n - maxLength characters anyway, and deletions inside a
+    // run save replacements: with r = L % period, the first r + 1 deletions save one, then
+    // every further period deletions save one more. The scan tallies runs by r, and
+    // deletions go to the cheapest savings first (r = 0, then r = 1, ...), the greedy of
+    // the classic strong-password problem. Only over-long PINs allocate that tally.
+    public static final class Evaluator {
+        private final int minLength;
+        private final int maxLength;
+        private final int requiredClasses;
+        private final int maxRepeatRun;
+        private final int runPeriod;
+        private final int[] asciiClasses;
+
+        private Evaluator(int minLength, int maxLength, int requiredClasses, int maxRepeatRun, int[] asciiClasses) {
+            this.minLength = minLength;
+            this.maxLength = maxLength;
+            this.requiredClasses = requiredClasses;
+            this.maxRepeatRun = maxRepeatRun;
+            this.runPeriod = maxRepeatRun + 1;
+            this.asciiClasses = asciiClasses;
+        }
+
+        public int changes(CharSequence pin) {
+            int n = pin.length();
+            int[] residues = residues(n);
+            int mask = 0, replace = 0, run = 0;
+            char prev = 0;
+            for (int i = 0; i < n; i++) {
+                char ch = pin.charAt(i);
+                mask |= ch < 128 ? asciiClasses[ch] : PinAnalysis.classOf(ch);
+                if (i > 0 && ch == prev) {
+                    run++;
+                    continue;
+                }
+                replace += closeRun(run, residues);
+                run = 1;
+                prev = ch;
+            }
+            replace += closeRun(run, residues);
+            return combine(n, mask, replace, residues);
+        }
+
+        // Scores pin[offset, offset + length) as single-byte characters
+        public int changes(byte[] pin, int offset, int length) {
+            int[] residues = residues(length);
+            int mask = 0, replace = 0, run = 0;
+            byte prev = 0;
+            for (int i = offset, end = offset + length; i < end; i++) {
+                byte b = pin[i];
+                mask |= b >= 0 ? asciiClasses[b] : PinAnalysis.OTHER;
+                if (i > offset && b == prev) {
+                    run++;
+                    continue;
+                }
+                replace += closeRun(run, residues);
+                run = 1;
+                prev = b;
+            }
+            replace += closeRun(run, residues);
+            return combine(length, mask, replace, residues);
+        }
+
+        // Scores bytes [from, to) of a buffer as single-byte characters
+        public int changes(ByteBuffer pin, int from, int to) {
+            int n = to - from;
+            int[] residues = residues(n);
+            int mask = 0, replace = 0, run = 0;
+            byte prev = 0;
+            for (int i = from; i < to; i++) {
+                byte b = pin.get(i);
+                mask |= b >= 0 ? asciiClasses[b] : PinAnalysis.OTHER;
+                if (i > from && b == prev) {
+                    run++;
+                    continue;
+                }
+                replace += closeRun(run, residues);
+                run = 1;
+                prev = b;
+            }
+            replace += closeRun(run, residues);
+            return combine(n, mask, replace, residues);
+        }
+
+        // Scores an already summarised PIN: its length, class bits and the lengths of its
+        // repeat runs (runs no longer than maxRepeatRun may be left out)
+        int changes(int n, int classMask, int[] repeatRuns) {
+            int[] residues = residues(n);
+            int replace = 0;
+            for (int run : repeatRuns) {
+                replace += closeRun(run, residues);
+            }
+            return combine(n, classMask, replace, residues);
+        }
+
+        public boolean isCompliant(CharSequence pin) {
+            return changes(pin) == 0;
+        }
+
+        // Tally of runs by length % runPeriod, needed only when deletions are forced
+        private int[] residues(int n) {
+            return n > maxLength ? new int[runPeriod] : null;
+        }
+
+        // Replacements a finished run needs before any deletions
+        private int closeRun(int run, int[] residues) {
+            if (run <= maxRepeatRun) return 0;
+            if (residues != null) residues[run % runPeriod]++;
+            return run / runPeriod;
+        }
+
+        private int combine(int n, int mask, int replace, int[] residues) {
+            int missing = Integer.bitCount(requiredClasses & ~mask);
+            if (n < minLength) {
+                return Math.max(Math.max(missing, minLength - n), replace);
+            } else if (n <= maxLength) {
+                return Math.max(missing, replace);
+            }
+
+            // Runs with residue r save one replacement for r + 1 deletions; what is left
+            // over saves one per runPeriod deletions in any run
+            int delete = n - maxLength;
+            int left = delete;
+            for (int r = 0; r < maxRepeatRun && left > r; r++) {
+                int saved = Math.min(residues[r], left / (r + 1));
+                replace -= saved;
+                left -= saved * (r + 1);
+            }
+            replace = Math.max(0, replace - left / runPeriod);
+            return delete + Math.max(missing, replace);
+        }
+    }
+}
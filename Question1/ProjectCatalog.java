@@ -0,0 +1,186 @@
+package Question1;
+
+import java.util.Arrays;
+
+// Mutable project catalog for planners that edit projects between capital queries.
+// Projects are kept in an investment-ordered index made of sorted blocks, so an
+// insert, remove or re-price only shifts one block instead of re-sorting everything,
+// and a (k, c) query walks the blocks in order without sorting at all.
+//
+// Index keys are packed as (investment << 32 | projectId). Not thread-safe.
+public class ProjectCatalog {
+    private static final int BLOCK_SIZE = 1024;
+
+    // Per-project data, addressed by the id returned from insert
+    private int[] investments = new int[16];
+    private int[] revenues = new int[16];
+    private boolean[] alive = new boolean[16];
+    private int[] freeIds = new int[16];
+    private int freeCount;
+    private int nextId;
+    private int size;
+
+    // Sorted blocks of index keys; every key in block b is below every key in block b + 1
+    private long[][] blocks = new long[4][];
+    private int[] blockSizes = new int[4];
+    private int blockCount;
+
+    private final IntMaxHeap maxHeap = new IntMaxHeap(64);
+
+    public int size() {
+        return size;
+    }
+
+    public int insert(int investment, int revenue) {
+        int id = allocateId();
+        investments[id] = investment;
+        revenues[id] = revenue;
+        alive[id] = true;
+        size++;
+        indexInsert(key(investment, id));
+        return id;
+    }
+
+    public boolean remove(int id) {
+        if (!contains(id)) return false;
+        indexRemove(key(investments[id], id));
+        alive[id] = false;
+        size--;
+        if (freeCount == freeIds.length) {
+            freeIds = Arrays.copyOf(freeIds, freeCount << 1);
+        }
+        freeIds[freeCount++] = id;
+        return true;
+    }
+
+    public void update(int id, int investment, int revenue) {
+        if (!contains(id)) {
+            throw new IllegalArgumentException("Unknown project id: " + id);
+        }
+        // A pure re-price keeps its place in the index
+        if (investments[id] != investment) {
+            indexRemove(key(investments[id], id));
+            investments[id] = investment;
+            indexInsert(key(investment, id));
+        }
+        revenues[id] = revenue;
+    }
+
+    public boolean contains(int id) {
+        return id >= 0 && id < nextId && alive[id];
+    }
+
+    public int investment(int id) {
+        return investments[id];
+    }
+
+    public int revenue(int id) {
+        return revenues[id];
+    }
+
+    // Same greedy as Question1.maximizeCapital, reading the already sorted index
+    public long maximizeCapital(int k, long c) {
+        maxHeap.clear();
+        int b = 0, i = 0;
+        for (int j = 0; j < k; j++) {
+            // Add all affordable projects to the max-heap
+            while (b < blockCount) {
+                long key = blocks[b][i];
+                if ((int) (key >> 32) > c) break;
+                maxHeap.push(revenues[(int) key]);
+                if (++i == blockSizes[b]) {
+                    b++;
+                    i = 0;
+                }
+            }
+
+            // No more projects we can afford
+            if (maxHeap.isEmpty()) {
+                break;
+            }
+
+            c += maxHeap.pop();
+        }
+        return c;
+    }
+
+    private int allocateId() {
+        if (freeCount > 0) {
+            return freeIds[--freeCount];
+        }
+        if (nextId == investments.length) {
+            int capacity = nextId << 1;
+            investments = Arrays.copyOf(investments, capacity);
+            revenues = Arrays.copyOf(revenues, capacity);
+            alive = Arrays.copyOf(alive, capacity);
+        }
+        return nextId++;
+    }
+
+    private static long key(int investment, int id) {
+        return ((long) investment << 32) | id;
+    }
+
+    // Index of the first block whose last key is >= key, or blockCount - 1 if none
+    private int findBlock(long key) {
+        int lo = 0, hi = blockCount - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (blocks[mid][blockSizes[mid] - 1] < key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private void indexInsert(long key) {
+        if (blockCount == 0) {
+            insertBlock(0, new long[BLOCK_SIZE * 2], 0);
+        }
+        int b = findBlock(key);
+        long[] block = blocks[b];
+        int n = blockSizes[b];
+        int pos = -(Arrays.binarySearch(block, 0, n, key) + 1);
+        System.arraycopy(block, pos, block, pos + 1, n - pos);
+        block[pos] = key;
+        blockSizes[b] = ++n;
+
+        // Split full blocks in half so edits stay O(BLOCK_SIZE)
+        if (n == block.length) {
+            long[] upper = new long[BLOCK_SIZE * 2];
+            int half = n >>> 1;
+            System.arraycopy(block, half, upper, 0, n - half);
+            blockSizes[b] = half;
+            insertBlock(b + 1, upper, n - half);
+        }
+    }
+
+    private void indexRemove(long key) {
+        int b = findBlock(key);
+        long[] block = blocks[b];
+        int n = blockSizes[b];
+        int pos = Arrays.binarySearch(block, 0, n, key);
+        System.arraycopy(block, pos + 1, block, pos, n - pos - 1);
+        blockSizes[b] = --n;
+
+        if (n == 0) {
+            System.arraycopy(blocks, b + 1, blocks, b, blockCount - b - 1);
+            System.arraycopy(blockSizes, b + 1, blockSizes, b, blockCount - b - 1);
+            blocks[--blockCount] = null;
+        }
+    }
+
+    private void insertBlock(int b, long[] block, int blockSize) {
+        if (blockCount == blocks.length) {
+            blocks = Arrays.copyOf(blocks, blockCount << 1);
+            blockSizes = Arrays.copyOf(blockSizes, blockCount << 1);
+        }
+        System.arraycopy(blocks, b, blocks, b + 1, blockCount - b);
+        System.arraycopy(blockSizes, b, blockSizes, b + 1, blockCount - b);
+        blocks[b] = block;
+        blockSizes[b] = blockSize;
+        blockCount++;
+    }
+}
@@ -37,12 +37,16 @@ import java.awt.event.*;
 import javax.swing.*;
 
 public class Question1b extends JFrame {
+    private static final PinPolicy.Evaluator BANK_POLICY = PinPolicy.BANK_DEFAULT.compile();
+
     private JTextField pinField;
     private JTextArea resultArea;
     private JButton analyzeBtn, clearBtn, exampleBtn;
     private JPanel mainPanel, inputPanel, buttonPanel, resultPanel;
     private JProgressBar strengthBar;
     private JLabel strengthLabel;
+    private final IncrementalPinAnalyzer strengthAnalyzer = new IncrementalPinAnalyzer();
+    private PinBlocklist blocklist;
     
     public Question1b() {
         setTitle("🔐 Secure PIN Strength Analyzer");
@@ -50,6 +54,7 @@ public class Question1b extends JFrame {
         setSize(650, 700);
         setLocationRelativeTo(null);
         
+        loadBlocklist();
         initializeComponents();
         setupLayout();
         setupEventHandlers();
@@ -57,6 +62,17 @@ public class Question1b extends JFrame {
         setVisible(true);
     }
     
+    // Optional common-PIN blocklist, built with PinBlocklist and passed as -Dpin.blocklist=<file>
+    private void loadBlocklist() {
+        String path = System.getProperty("pin.blocklist");
+        if (path == null) return;
+        try {
+            blocklist = PinBlocklist.load(java.nio.file.Paths.get(path));
+        } catch (java.io.IOException ex) {
+            System.err.println("Could not load PIN blocklist: " + ex.getMessage());
+        }
+    }
+    
     private void initializeComponents() {
         // Input field with modern styling
         pinField = new JTextField(30);
@@ -212,11 +228,21 @@ public class Question1b extends JFrame {
         clearBtn.addActionListener(_ -> clearAll());
         exampleBtn.addActionListener(_ -> loadExample());
         
-        // Real-time analysis on text change
+        // Real-time analysis on text change, applied incrementally per edit
         pinField.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
-            public void changedUpdate(javax.swing.event.DocumentEvent e) { updateStrengthIndicator(); }
-            public void removeUpdate(javax.swing.event.DocumentEvent e) { updateStrengthIndicator(); }
-            public void insertUpdate(javax.swing.event.DocumentEvent e) { updateStrengthIndicator(); }
+            public void changedUpdate(javax.swing.event.DocumentEvent e) { }
+            public void removeUpdate(javax.swing.event.DocumentEvent e) {
+                strengthAnalyzer.remove(e.getOffset(), e.getLength());
+                updateStrengthIndicator();
+            }
+            public void insertUpdate(javax.swing.event.DocumentEvent e) {
+                try {
+                    strengthAnalyzer.insert(e.getOffset(), e.getDocument().getText(e.getOffset(), e.getLength()));
+                } catch (javax.swing.text.BadLocationException ex) {
+                    strengthAnalyzer.reset(pinField.getText());
+                }
+                updateStrengthIndicator();
+            }
         });
         
         // Enter key support
@@ -230,15 +256,23 @@ public class Question1b extends JFrame {
     }
     
     private void updateStrengthIndicator() {
-        String pin = pinField.getText();
-        if (pin.isEmpty()) {
+        if (strengthAnalyzer.length() == 0) {
             strengthBar.setValue(0);
             strengthBar.setString("Enter PIN");
             strengthBar.setForeground(new Color(108, 117, 125));
             return;
         }
         
-        int strength = calculatePINStrength(pin);
+        // Only PINs within the policy length are looked up, which keeps each keystroke cheap
+        if (blocklist != null && strengthAnalyzer.length() <= PinPolicy.DEFAULT_MAX_LENGTH
+                && blocklist.mightContain(strengthAnalyzer)) {
+            strengthBar.setValue(10);
+            strengthBar.setForeground(new Color(220, 53, 69));
+            strengthBar.setString("Common PIN");
+            return;
+        }
+        
+        int strength = strengthAnalyzer.strength();
         strengthBar.setValue(strength);
         
         if (strength >= 80) {
@@ -256,42 +290,6 @@ public class Question1b extends JFrame {
         }
     }
     
-    private int calculatePINStrength(String pin) {
-        int strength = 0;
-        
-        // Length check (0-30 points)
-        if (pin.length() >= 6 && pin.length() <= 20) {
-            strength += 30;
-        } else if (pin.length() > 20) {
-            strength += 20;
-        } else {
-            strength += (pin.length() * 5);
-        }
-        
-        // Character type diversity (0-40 points)
-        boolean hasLower = false, hasUpper = false, hasDigit = false, hasSpecial = false;
-        for (char ch : pin.toCharArray()) {
-            if (Character.isLowerCase(ch)) hasLower = true;
-            else if (Character.isUpperCase(ch)) hasUpper = true;
-            else if (Character.isDigit(ch)) hasDigit = true;
-            else hasSpecial = true;
-        }
-        
-        int typeCount = (hasLower ? 1 : 0) + (hasUpper ? 1 : 0) + (hasDigit ? 1 : 0) + (hasSpecial ? 1 : 0);
-        strength += (typeCount * 10);
-        
-        // No consecutive repeating characters (0-30 points)
-        int consecutiveRepeats = 0;
-        for (int i = 2; i < pin.length(); i++) {
-            if (pin.charAt(i) == pin.charAt(i-1) && pin.charAt(i) == pin.charAt(i-2)) {
-                consecutiveRepeats++;
-            }
-        }
-        strength += Math.max(0, 30 - (consecutiveRepeats * 10));
-        
-        return Math.min(100, strength);
-    }
-    
     private void analyzePIN() {
         String pin = pinField.getText().trim();
         
@@ -300,7 +298,8 @@ public class Question1b extends JFrame {
             return;
         }
         
-        int changes = strongPINChanges(pin);
+        PinAnalysis analysis = PinAnalysis.of(pin);
+        int changes = analysis.changes();
         
         StringBuilder sb = new StringBuilder();
         sb.append("🔍 PIN ANALYSIS REPORT\n");
@@ -310,12 +309,9 @@ public class Question1b extends JFrame {
         sb.append("📏 Length: ").append(pin.length()).append(" characters\n\n");
         
         // Detailed analysis
-        boolean hasLower = false, hasUpper = false, hasDigit = false;
-        for (char ch : pin.toCharArray()) {
-            if (Character.isLowerCase(ch)) hasLower = true;
-            else if (Character.isUpperCase(ch)) hasUpper = true;
-            else if (Character.isDigit(ch)) hasDigit = true;
-        }
+        boolean hasLower = analysis.has(PinAnalysis.LOWER);
+        boolean hasUpper = analysis.has(PinAnalysis.UPPER);
+        boolean hasDigit = analysis.has(PinAnalysis.DIGIT);
         
         sb.append("📋 CHARACTER ANALYSIS:\n");
         sb.append("• Lowercase letters: ").append(hasLower ? "✅ Present" : "❌ Missing").append("\n");
@@ -325,18 +321,21 @@ public class Question1b extends JFrame {
             pin.length() >= 6 && pin.length() <= 20 ? "✅ Met" : "❌ Not met").append("\n\n");
         
         // Consecutive repeating check
-        int consecutiveRepeats = 0;
-        for (int i = 2; i < pin.length(); i++) {
-            if (pin.charAt(i) == pin.charAt(i-1) && pin.charAt(i) == pin.charAt(i-2)) {
-                consecutiveRepeats++;
-            }
-        }
+        int consecutiveRepeats = analysis.repeatSequences();
         sb.append("🔄 CONSECUTIVE CHARACTERS:\n");
         sb.append("• Consecutive repeating sequences: ").append(consecutiveRepeats).append("\n");
         sb.append("• Policy compliance: ").append(consecutiveRepeats == 0 ? "✅ Compliant" : "❌ Non-compliant").append("\n\n");
         
+        boolean blocklisted = blocklist != null && blocklist.mightContain(pin);
+        if (blocklist != null) {
+            sb.append("🚫 COMMON PIN CHECK:\n");
+            sb.append("• Leaked PIN blocklist: ").append(blocklisted ? "❌ Listed" : "✅ Not listed").append("\n\n");
+        }
+        
         sb.append("🎯 FINAL RESULT:\n");
-        if (changes == 0) {
+        if (changes == 0 && blocklisted) {
+            sb.append("⚠️  PIN meets the policy but is a commonly leaked PIN.\n");
+        } else if (changes == 0) {
             sb.append("✅ PIN is already strong! No changes required.\n");
         } else {
             sb.append("⚠️  PIN needs ").append(changes).append(" change(s) to become strong.\n");
@@ -350,6 +349,7 @@ public class Question1b extends JFrame {
         if (pin.length() < 6) sb.append("• PIN is too short (minimum 6 characters)\n");
         if (pin.length() > 20) sb.append("• PIN is too long (maximum 20 characters)\n");
         if (consecutiveRepeats > 0) sb.append("• Avoid three consecutive repeating characters\n");
+        if (blocklisted) sb.append("• Choose a PIN that is not on the common PIN list\n");
         
         resultArea.setText(sb.toString());
     }
@@ -385,65 +385,8 @@ public class Question1b extends JFrame {
     }
 
     public static int strongPINChanges(String pin_code) {
-        int n = pin_code.length();
-
-        // 1. Check for missing character types
-        boolean hasLower = false, hasUpper = false, hasDigit = false;
-        for (char ch : pin_code.toCharArray()) {
-            if (Character.isLowerCase(ch)) hasLower = true;
-            else if (Character.isUpperCase(ch)) hasUpper = true;
-            else if (Character.isDigit(ch)) hasDigit = true;
-        }
-        int missingTypes = 0;
-        if (!hasLower) missingTypes++;
-        if (!hasUpper) missingTypes++;
-        if (!hasDigit) missingTypes++;
-
-        // 2. Count repeating sequences
-        int replace = 0;
-        int i = 2;
-        while (i < n) {
-            if (pin_code.charAt(i) == pin_code.charAt(i - 1) && pin_code.charAt(i) == pin_code.charAt(i - 2)) {
-                int length = 2;
-                while (i < n && pin_code.charAt(i) == pin_code.charAt(i - 1)) {
-                    length++;
-                    i++;
-                }
-                replace += length / 3;
-            } else {
-                i++;
-            }
-        }
-
-        // 3. Handle length adjustments
-        if (n < 6) {
-            return Math.max(missingTypes, 6 - n);
-        } else if (n <= 20) {
-            return Math.max(missingTypes, replace);
-        } else {
-            int delete = n - 20;
-            int remainingDelete = delete;
-
-            // Optimize replacements using deletions
-            i = 2;
-            while (i < n && remainingDelete > 0) {
-                if (pin_code.charAt(i) == pin_code.charAt(i - 1) && pin_code.charAt(i) == pin_code.charAt(i - 2)) {
-                    int length = 3;
-                    i++;
-                    while (i < n && pin_code.charAt(i) == pin_code.charAt(i - 1)) {
-                        length++;
-                        i++;
-                    }
-                    int reduce = Math.min(remainingDelete, length - 2);
-                    replace -= reduce / 3;
-                    remainingDelete -= reduce;
-                } else {
-                    i++;
-                }
-            }
-
-            return delete + Math.max(missingTypes, replace);
-        }
+        // Class bitmask, repeat runs and length adjustments all come from one pass
+        return BANK_POLICY.changes(pin_code);
     }
 
     public static void main(String[] args) {
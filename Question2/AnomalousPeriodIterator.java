@@ -0,0 +1,175 @@
+package Question2;
+
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+// Lazily enumerates the periods counted by Question2a.countAnomalousPeriods.
+// Periods come out ordered by end day; for each end day the qualifying start prefixes
+// are looked up in a compressed prefix-sum index (a Fenwick tree over (sum, day)
+// ranks), so producing k periods costs O((n + k) log n) and a caller who stops after
+// the first thousand never pays for the full, possibly quadratic, set.
+//
+// Usage: while (it.next()) { it.start(); it.end(); it.total(); }
+public final class AnomalousPeriodIterator {
+    private final long low, high;
+    private final long[] prefix;
+    // Prefix positions ordered by (sum, position), and each position's slot in that order
+    private final int[] positionAtSlot;
+    private final int[] slotOfPosition;
+    private final long[] sortedSums;
+    private final int[] fenwick;
+
+    private int endPrefix;          // Prefix index closing the periods being emitted
+    private long cursor, rangeEnd;  // Ranks of inserted prefixes still to emit for endPrefix
+    private int start = -1, end = -1;
+    private long total;
+
+    public AnomalousPeriodIterator(int[] temperatureChanges, long low, long high) {
+        this.low = AnomalyEngine.clampThreshold(low, temperatureChanges.length);
+        this.high = AnomalyEngine.clampThreshold(high, temperatureChanges.length);
+        this.prefix = AnomalyEngine.prefixSums(temperatureChanges);
+        int size = prefix.length;
+
+        positionAtSlot = sortPositions(prefix);
+        slotOfPosition = new int[size];
+        sortedSums = new long[size];
+        for (int slot = 0; slot < size; slot++) {
+            slotOfPosition[positionAtSlot[slot]] = slot;
+            sortedSums[slot] = prefix[positionAtSlot[slot]];
+        }
+
+        fenwick = new int[size + 1];
+        insert(slotOfPosition[0]);
+        endPrefix = 0;
+        cursor = rangeEnd = 0;
+    }
+
+    // Advances to the next qualifying period; false once all have been produced
+    public boolean next() {
+        if (endPrefix >= prefix.length) return false;   // Already exhausted
+        while (cursor == rangeEnd) {
+            if (endPrefix > 0) {
+                insert(slotOfPosition[endPrefix]);
+            }
+            if (++endPrefix >= prefix.length || low > high) {
+                endPrefix = prefix.length;
+                return false;
+            }
+            long p = prefix[endPrefix];
+            int from = AnomalyEngine.lowerBound(sortedSums, sortedSums.length, p - high);
+            int to = AnomalyEngine.upperBound(sortedSums, sortedSums.length, p - low);
+            cursor = countBefore(from);
+            rangeEnd = countBefore(to);
+        }
+        int slot = findKth(++cursor);
+        start = positionAtSlot[slot];
+        end = endPrefix - 1;
+        total = prefix[endPrefix] - prefix[start];
+        return true;
+    }
+
+    // First day of the current period
+    public int start() {
+        return start;
+    }
+
+    // Last day of the current period, inclusive
+    public int end() {
+        return end;
+    }
+
+    public long total() {
+        return total;
+    }
+
+    // Periods as packed (start << 32 | end) longs; use start(long) and end(long) to unpack
+    public static LongStream stream(int[] temperatureChanges, long low, long high) {
+        AnomalousPeriodIterator it = new AnomalousPeriodIterator(temperatureChanges, low, high);
+        Spliterator.OfLong spliterator = new Spliterator.OfLong() {
+            @Override
+            public boolean tryAdvance(LongConsumer action) {
+                if (!it.next()) return false;
+                action.accept(((long) it.start() << 32) | it.end());
+                return true;
+            }
+
+            @Override
+            public Spliterator.OfLong trySplit() {
+                return null;
+            }
+
+            @Override
+            public long estimateSize() {
+                return Long.MAX_VALUE;
+            }
+
+            @Override
+            public int characteristics() {
+                return ORDERED | NONNULL | IMMUTABLE;
+            }
+        };
+        return StreamSupport.longStream(spliterator, false);
+    }
+
+    public static int start(long period) {
+        return (int) (period >>> 32);
+    }
+
+    public static int end(long period) {
+        return (int) period;
+    }
+
+    // Positions ordered by (sum, position): a counting sort over compressed sum ranks,
+    // which is stable, so equal sums keep their day order
+    private static int[] sortPositions(long[] prefix) {
+        long[] sorted = prefix.clone();
+        Arrays.sort(sorted);
+        int distinct = AnomalyEngine.unique(sorted);
+
+        int[] rank = new int[prefix.length];
+        int[] firstSlot = new int[distinct + 1];
+        for (int i = 0; i < prefix.length; i++) {
+            rank[i] = AnomalyEngine.lowerBound(sorted, distinct, prefix[i]);
+            firstSlot[rank[i] + 1]++;
+        }
+        for (int r = 0; r < distinct; r++) {
+            firstSlot[r + 1] += firstSlot[r];
+        }
+        int[] positions = new int[prefix.length];
+        for (int i = 0; i < prefix.length; i++) {
+            positions[firstSlot[rank[i]]++] = i;
+        }
+        return positions;
+    }
+
+    private void insert(int slot) {
+        for (int i = slot + 1; i < fenwick.length; i += i & -i) {
+            fenwick[i]++;
+        }
+    }
+
+    // Inserted slots below the given slot
+    private long countBefore(int slot) {
+        long count = 0;
+        for (int i = slot; i > 0; i -= i & -i) {
+            count += fenwick[i];
+        }
+        return count;
+    }
+
+    // Slot of the k-th inserted prefix in sorted order (k is 1-based)
+    private int findKth(long k) {
+        int position = 0;
+        for (int step = Integer.highestOneBit(fenwick.length - 1); step > 0; step >>= 1) {
+            int next = position + step;
+            if (next < fenwick.length && fenwick[next] < k) {
+                position = next;
+                k -= fenwick[next];
+            }
+        }
+        return position;
+    }
+}
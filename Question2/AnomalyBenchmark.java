@@ -0,0 +1,57 @@
+package Question2;
+
+import java.util.Random;
+
+// Times a sweep of threshold bands over one series: one Question2a.countAnomalousPeriods
+// call per band, one AnomalyEngine call per band, and a single batched AnomalyEngine query.
+// Usage: java Question2.AnomalyBenchmark [days] [bands]
+public class AnomalyBenchmark {
+    public static void main(String[] args) {
+        int days = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int bands = args.length > 1 ? Integer.parseInt(args[1]) : 48;
+
+        Random random = new Random(7);
+        int[] changes = new int[days];
+        for (int i = 0; i < days; i++) {
+            changes[i] = random.nextInt(21) - 10;
+        }
+        long[] lows = new long[bands];
+        long[] highs = new long[bands];
+        for (int q = 0; q < bands; q++) {
+            lows[q] = -5L * q;
+            highs[q] = 5L * q + 10;
+        }
+        // Question2a counts in an int, which can wrap once a band may hold more periods
+        boolean treeMapExact = (long) days * (days + 1) / 2 <= Integer.MAX_VALUE;
+
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            long treeMapTotal = 0;
+            for (int q = 0; q < bands; q++) {
+                treeMapTotal += Question2a.countAnomalousPeriods(changes, (int) lows[q], (int) highs[q]);
+            }
+            long treeMapNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            long fenwickTotal = 0;
+            for (int q = 0; q < bands; q++) {
+                fenwickTotal += AnomalyEngine.countAnomalousPeriods(changes, lows[q], highs[q]);
+            }
+            long fenwickNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            long batchTotal = 0;
+            for (long count : AnomalyEngine.countAnomalousPeriods(changes, lows, highs)) {
+                batchTotal += count;
+            }
+            long batchNanos = System.nanoTime() - start;
+
+            if ((treeMapExact && treeMapTotal != fenwickTotal) || fenwickTotal != batchTotal) {
+                throw new IllegalStateException("Band totals disagree: " + treeMapTotal + ", "
+                                                + fenwickTotal + ", " + batchTotal);
+            }
+            System.out.printf("Round %d (%d days, %d bands): TreeMap loop %.1f ms, Fenwick loop %.1f ms, batch %.1f ms%n",
+                              round + 1, days, bands, treeMapNanos / 1e6, fenwickNanos / 1e6, batchNanos / 1e6);
+        }
+    }
+}
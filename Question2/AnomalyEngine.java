@@ -0,0 +1,250 @@
+package Question2;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// O(n log n) version of Question2a.countAnomalousPeriods.
+// Prefix sums are coordinate-compressed into a sorted long[] and counted with a
+// Fenwick tree, so wide thresholds no longer walk every entry of a TreeMap range and
+// no boxed keys are created. The count is a long because it can exceed 2^31.
+public final class AnomalyEngine {
+    static final int DEFAULT_SEQUENTIAL_CUTOFF = 1 << 13;
+
+    private AnomalyEngine() {}
+
+    public static long countAnomalousPeriods(int[] temperatureChanges, long low, long high) {
+        if (low > high) return 0;
+        int n = temperatureChanges.length;
+        low = clampThreshold(low, n);
+        high = clampThreshold(high, n);
+
+        long[] prefix = prefixSums(temperatureChanges);
+        long[] sorted = prefix.clone();
+        Arrays.sort(sorted);
+        int distinct = unique(sorted);
+
+        // fenwick[i] counts earlier prefix sums with compressed rank i - 1
+        int[] fenwick = new int[distinct + 1];
+        long count = 0;
+        for (int j = 0; j <= n; j++) {
+            long p = prefix[j];
+            if (j > 0) {
+                // Earlier prefix sums in [p - high, p - low] close a valid period at day j - 1
+                int from = lowerBound(sorted, distinct, p - high);
+                int to = upperBound(sorted, distinct, p - low);
+                if (from < to) {
+                    count += sum(fenwick, to) - sum(fenwick, from);
+                }
+            }
+            add(fenwick, lowerBound(sorted, distinct, p) + 1);
+        }
+        return count;
+    }
+
+    // Answers a whole batch of [lows[q], highs[q]] bands over one series.
+    // Every band is the difference of two "sum <= x" counts, so the prefix sums are
+    // merge-sorted once and each merge step sweeps all distinct thresholds over the
+    // same sorted halves, instead of rebuilding the index per band.
+    public static long[] countAnomalousPeriods(int[] temperatureChanges, long[] lows, long[] highs) {
+        if (lows.length != highs.length) {
+            throw new IllegalArgumentException("Every band needs both a low and a high threshold");
+        }
+        int bands = lows.length;
+        int n = temperatureChanges.length;
+        long[] thresholds = new long[bands * 2];
+        for (int q = 0; q < bands; q++) {
+            thresholds[2 * q] = clampThreshold(highs[q], n);
+            thresholds[2 * q + 1] = clampThreshold(lows[q], n) - 1;
+        }
+        Arrays.sort(thresholds);
+        int distinct = unique(thresholds);
+
+        // atMost[k] = number of periods whose total is <= thresholds[k]
+        long[] atMost = new long[distinct];
+        long[] prefix = prefixSums(temperatureChanges);
+        countAtMost(prefix, new long[prefix.length], 0, prefix.length, thresholds, distinct, atMost);
+
+        long[] counts = new long[bands];
+        for (int q = 0; q < bands; q++) {
+            if (lows[q] > highs[q]) continue;
+            counts[q] = atMost[lowerBound(thresholds, distinct, clampThreshold(highs[q], n))]
+                      - atMost[lowerBound(thresholds, distinct, clampThreshold(lows[q], n) - 1)];
+        }
+        return counts;
+    }
+
+    private static void countAtMost(long[] prefix, long[] buffer, int from, int to,
+                                    long[] thresholds, int distinct, long[] atMost) {
+        if (to - from < 2) return;
+        int mid = (from + to) >>> 1;
+        countAtMost(prefix, buffer, from, mid, thresholds, distinct, atMost);
+        countAtMost(prefix, buffer, mid, to, thresholds, distinct, atMost);
+
+        // Crossing periods with total <= x start at left prefixes >= right prefix - x
+        for (int k = 0; k < distinct; k++) {
+            long x = thresholds[k];
+            long crossing = 0;
+            int a = from;
+            for (int j = mid; j < to; j++) {
+                long bound = prefix[j] - x;
+                while (a < mid && prefix[a] < bound) a++;
+                crossing += mid - a;
+            }
+            atMost[k] += crossing;
+        }
+
+        int i = from, j = mid, k = from;
+        while (i < mid && j < to) {
+            buffer[k++] = prefix[i] <= prefix[j] ? prefix[i++] : prefix[j++];
+        }
+        while (i < mid) buffer[k++] = prefix[i++];
+        while (j < to) buffer[k++] = prefix[j++];
+        System.arraycopy(buffer, from, prefix, from, to - from);
+    }
+
+    // Divide-and-conquer count on the fork-join pool: each half is counted recursively,
+    // then periods crossing the midpoint are counted with a two-pointer sweep over the
+    // sorted prefix sums of both halves before they are merged.
+    public static long countAnomalousPeriodsParallel(int[] temperatureChanges, long low, long high) {
+        return countAnomalousPeriodsParallel(temperatureChanges, low, high,
+                                             ForkJoinPool.commonPool(), DEFAULT_SEQUENTIAL_CUTOFF);
+    }
+
+    public static long countAnomalousPeriodsParallel(int[] temperatureChanges, long low, long high,
+                                                     ForkJoinPool pool, int sequentialCutoff) {
+        if (low > high) return 0;
+        low = clampThreshold(low, temperatureChanges.length);
+        high = clampThreshold(high, temperatureChanges.length);
+        long[] prefix = prefixSums(temperatureChanges);
+        long[] buffer = new long[prefix.length];
+        return pool.invoke(new CountTask(prefix, buffer, 0, prefix.length, low, high,
+                                         Math.max(2, sequentialCutoff)));
+    }
+
+    // Counts pairs i < j in prefix[from..to) with prefix[j] - prefix[i] in [low, high],
+    // leaving prefix[from..to) sorted
+    private static final class CountTask extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final long[] prefix, buffer;
+        private final int from, to;
+        private final long low, high;
+        private final int cutoff;
+
+        CountTask(long[] prefix, long[] buffer, int from, int to, long low, long high, int cutoff) {
+            this.prefix = prefix;
+            this.buffer = buffer;
+            this.from = from;
+            this.to = to;
+            this.low = low;
+            this.high = high;
+            this.cutoff = cutoff;
+        }
+
+        @Override
+        protected Long compute() {
+            if (to - from <= cutoff) {
+                return countPairs(prefix, buffer, from, to, low, high);
+            }
+            int mid = (from + to) >>> 1;
+            CountTask left = new CountTask(prefix, buffer, from, mid, low, high, cutoff);
+            left.fork();
+            CountTask right = new CountTask(prefix, buffer, mid, to, low, high, cutoff);
+            long total = right.compute() + left.join();
+            return total + countCrossingAndMerge(prefix, buffer, from, mid, to, low, high);
+        }
+    }
+
+    // Sequential form of CountTask: counts pairs i < j in prefix[from..to) with
+    // prefix[j] - prefix[i] in [low, high] (low <= high), leaving prefix[from..to) sorted
+    static long countPairs(long[] prefix, long[] buffer, int from, int to, long low, long high) {
+        if (to - from < 2) return 0;
+        int mid = (from + to) >>> 1;
+        long total = countPairs(prefix, buffer, from, mid, low, high) + countPairs(prefix, buffer, mid, to, low, high);
+        return total + countCrossingAndMerge(prefix, buffer, from, mid, to, low, high);
+    }
+
+    private static long countCrossingAndMerge(long[] prefix, long[] buffer, int from, int mid, int to,
+                                              long low, long high) {
+        // For ascending right-half values the valid left window only moves up
+        long crossing = 0;
+        int a = from, b = from;
+        for (int j = mid; j < to; j++) {
+            long p = prefix[j];
+            while (a < mid && prefix[a] < p - high) a++;
+            while (b < mid && prefix[b] <= p - low) b++;
+            crossing += b - a;
+        }
+
+        int i = from, j = mid, k = from;
+        while (i < mid && j < to) {
+            buffer[k++] = prefix[i] <= prefix[j] ? prefix[i++] : prefix[j++];
+        }
+        while (i < mid) buffer[k++] = prefix[i++];
+        while (j < to) buffer[k++] = prefix[j++];
+        System.arraycopy(buffer, from, prefix, from, to - from);
+        return crossing;
+    }
+
+    // A period of at most `days` readings totals within ±days·2^31, so any threshold
+    // beyond ±(days + 1)·2^31 selects the same periods as that bound. Clamping keeps
+    // p - low and p - high inside the long range however wide the requested band is.
+    static long clampThreshold(long threshold, int days) {
+        long limit = ((long) days + 1) << 31;
+        return Math.max(-limit, Math.min(limit, threshold));
+    }
+
+    static long[] prefixSums(int[] temperatureChanges) {
+        long[] prefix = new long[temperatureChanges.length + 1];
+        for (int i = 0; i < temperatureChanges.length; i++) {
+            prefix[i + 1] = prefix[i] + temperatureChanges[i];
+        }
+        return prefix;
+    }
+
+    // Compacts a sorted array in place and returns the number of distinct values
+    static int unique(long[] sorted) {
+        if (sorted.length == 0) return 0;
+        int distinct = 1;
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i] != sorted[distinct - 1]) sorted[distinct++] = sorted[i];
+        }
+        return distinct;
+    }
+
+    // First index in sorted[0..size) whose value is >= key
+    static int lowerBound(long[] sorted, int size, long key) {
+        int lo = 0, hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] < key) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    // First index in sorted[0..size) whose value is > key
+    static int upperBound(long[] sorted, int size, long key) {
+        int lo = 0, hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] <= key) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    private static void add(int[] fenwick, int index) {
+        for (int i = index; i < fenwick.length; i += i & -i) {
+            fenwick[i]++;
+        }
+    }
+
+    // Number of inserted ranks in [0, index)
+    private static long sum(int[] fenwick, int index) {
+        long total = 0;
+        for (int i = index; i > 0; i -= i & -i) {
+            total += fenwick[i];
+        }
+        return total;
+    }
+}
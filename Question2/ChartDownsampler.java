@@ -0,0 +1,36 @@
+package Question2;
+
+import java.util.Arrays;
+
+// Min/max-per-bucket downsampling for the Question2a chart.
+// The series is split into one bucket per horizontal pixel and each bucket keeps the
+// indices of its lowest and highest reading, in day order, so every spike that would
+// have been drawn into that pixel column is still drawn. O(n) time, no boxing.
+final class ChartDownsampler {
+    private ChartDownsampler() {}
+
+    // Indices of the points to draw, ascending; all indices when the series already fits
+    static int[] minMax(int[] values, int buckets) {
+        int n = values.length;
+        if (buckets < 1 || n <= 2 * buckets) {
+            int[] all = new int[n];
+            for (int i = 0; i < n; i++) all[i] = i;
+            return all;
+        }
+
+        int[] kept = new int[2 * buckets];
+        int size = 0;
+        for (int b = 0; b < buckets; b++) {
+            int from = (int) ((long) b * n / buckets);
+            int to = (int) ((long) (b + 1) * n / buckets);
+            int min = from, max = from;
+            for (int i = from + 1; i < to; i++) {
+                if (values[i] < values[min]) min = i;
+                if (values[i] > values[max]) max = i;
+            }
+            kept[size++] = Math.min(min, max);
+            if (min != max) kept[size++] = Math.max(min, max);
+        }
+        return Arrays.copyOf(kept, size);
+    }
+}
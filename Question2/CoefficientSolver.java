@@ -0,0 +1,124 @@
+package Question2;
+
+import java.util.Arrays;
+
+// Backtracking over letters, like Question2b.solve, but evaluated incrementally.
+// Each letter gets one signed coefficient: the sum of its place values in the addends
+// minus its place values in the result, so the equation holds exactly when
+// sum(coefficient * digit) == 0. Assigning a digit updates a running long total in O(1)
+// instead of rebuilding three numbers at every leaf. Letters are tried in order of
+// decreasing |coefficient|, and a branch is cut once the remaining letters' smallest and
+// largest possible contributions cannot bring the total back to zero.
+public final class CoefficientSolver {
+    private final int[] order;          // Letter indices, largest |coefficient| first
+    private final long[] coefficients;  // Indexed by position in order
+    private final boolean[] leading;    // Indexed by position in order
+    private final int[] digits;         // Indexed by letter
+    private int usedDigits;
+
+    private CoefficientSolver(CryptarithmPuzzle puzzle, long[] byLetter) {
+        int letters = puzzle.letterCount();
+        // Stable insertion sort by decreasing |coefficient|; there are at most 10 letters
+        order = new int[letters];
+        for (int i = 0; i < letters; i++) {
+            long weight = Math.abs(byLetter[i]);
+            int j = i;
+            while (j > 0 && Math.abs(byLetter[order[j - 1]]) < weight) {
+                order[j] = order[j - 1];
+                j--;
+            }
+            order[j] = i;
+        }
+
+        coefficients = new long[letters];
+        leading = new boolean[letters];
+        for (int i = 0; i < letters; i++) {
+            coefficients[i] = byLetter[order[i]];
+            leading[i] = puzzle.isLeading(order[i]);
+        }
+        digits = new int[letters];
+        Arrays.fill(digits, -1);
+    }
+
+    public static boolean isSolvable(String word1, String word2, String result) {
+        return solve(CryptarithmPuzzle.of(word1, word2, result)) != null;
+    }
+
+    // Digit per letter index of the first solution found, or null when there is none
+    public static int[] solve(CryptarithmPuzzle puzzle) {
+        if (puzzle.letterCount() > 10) return null;
+        long[] byLetter = coefficients(puzzle);
+        if (byLetter == null) {
+            // Place values too large for long: the column solver has no such limit
+            return ColumnSolver.solve(puzzle);
+        }
+        CoefficientSolver solver = new CoefficientSolver(puzzle, byLetter);
+        return solver.search(0, 0) ? solver.digits.clone() : null;
+    }
+
+    // Signed place-value coefficient per letter, or null if 9 * sum(|coefficient|) overflows
+    static long[] coefficients(CryptarithmPuzzle puzzle) {
+        long[] byLetter = new long[puzzle.letterCount()];
+        try {
+            for (int w = 0; w <= puzzle.addends.length; w++) {
+                boolean isResult = w == puzzle.addends.length;
+                int[] word = isResult ? puzzle.result : puzzle.addends[w];
+                long place = 1;
+                for (int i = word.length - 1; i >= 0; i--) {
+                    byLetter[word[i]] = isResult ? Math.subtractExact(byLetter[word[i]], place)
+                                                 : Math.addExact(byLetter[word[i]], place);
+                    if (i > 0) place = Math.multiplyExact(place, 10);
+                }
+            }
+            long bound = 0;
+            for (long c : byLetter) {
+                bound = Math.addExact(bound, Math.multiplyExact(Math.abs(c), 9));
+            }
+        } catch (ArithmeticException e) {
+            return null;
+        }
+        return byLetter;
+    }
+
+    private boolean search(int position, long total) {
+        if (position == order.length) {
+            return total == 0;
+        }
+        if (!canReachZero(position, total)) return false;
+
+        long coefficient = coefficients[position];
+        int free = ~usedDigits & 0x3FF;
+        if (leading[position]) free &= ~1;
+        for (; free != 0; free &= free - 1) {
+            int d = Integer.numberOfTrailingZeros(free);
+            digits[order[position]] = d;
+            usedDigits |= 1 << d;
+            if (search(position + 1, total + coefficient * d)) return true;
+            usedDigits &= ~(1 << d);
+        }
+        digits[order[position]] = -1;
+        return false;
+    }
+
+    // Each remaining letter contributes between coefficient * lowest and
+    // coefficient * highest free digit; zero must lie inside the summed range
+    private boolean canReachZero(int position, long total) {
+        int free = ~usedDigits & 0x3FF;
+        int highest = 31 - Integer.numberOfLeadingZeros(free);
+        int lowest = Integer.numberOfTrailingZeros(free);
+        int lowestNonZero = Integer.numberOfTrailingZeros(free & ~1);
+        long min = total, max = total;
+        for (int i = position; i < order.length; i++) {
+            long c = coefficients[i];
+            int low = leading[i] ? lowestNonZero : lowest;
+            if (c >= 0) {
+                min += c * low;
+                max += c * highest;
+            } else {
+                min += c * highest;
+                max += c * low;
+            }
+        }
+        return min <= 0 && max >= 0;
+    }
+}
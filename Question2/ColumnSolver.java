@@ -0,0 +1,123 @@
+package Question2;
+
+import java.util.Arrays;
+
+// Column-by-column solver for Question2b puzzles.
+// Digits are chosen from the least significant column upwards with the carry threaded
+// through, so each column is checked mod 10 as soon as its addend letters are known
+// instead of only at the leaves. Free digits and non-zero letters are int bitmasks and
+// no word is ever turned into a number, so long words cannot overflow.
+public final class ColumnSolver {
+    private final CryptarithmPuzzle puzzle;
+    // columnLetters[c] = addend letters in column c (c = 0 is the units column)
+    private final int[][] columnLetters;
+    private final int[] resultLetter;
+    private final int[] digits;
+    private int usedDigits;
+
+    private ColumnSolver(CryptarithmPuzzle puzzle) {
+        this.puzzle = puzzle;
+        columnLetters = columnLetters(puzzle);
+        resultLetter = resultLetters(puzzle);
+        digits = new int[puzzle.letterCount()];
+        Arrays.fill(digits, -1);
+    }
+
+    public static boolean isSolvable(String word1, String word2, String result) {
+        return solve(CryptarithmPuzzle.of(word1, word2, result)) != null;
+    }
+
+    // Digit per letter index of the first solution found, or null when there is none
+    public static int[] solve(CryptarithmPuzzle puzzle) {
+        if (!mayHaveSolution(puzzle)) return null;
+        ColumnSolver solver = new ColumnSolver(puzzle);
+        return solver.search(0, 0, 0) ? solver.digits.clone() : null;
+    }
+
+    // False when no assignment can exist whatever the digits: too many letters, or an
+    // addend longer than the result (its non-zero leading digit already exceeds it)
+    static boolean mayHaveSolution(CryptarithmPuzzle puzzle) {
+        if (puzzle.letterCount() > 10) return false;
+        for (int[] word : puzzle.addends) {
+            if (word.length > puzzle.result.length) return false;
+        }
+        return true;
+    }
+
+    // Addend letters per column, units column first
+    static int[][] columnLetters(CryptarithmPuzzle puzzle) {
+        int columns = puzzle.result.length;
+        int[][] letters = new int[columns][];
+        for (int c = 0; c < columns; c++) {
+            int size = 0;
+            for (int[] word : puzzle.addends) {
+                if (c < word.length) size++;
+            }
+            letters[c] = new int[size];
+            size = 0;
+            for (int[] word : puzzle.addends) {
+                if (c < word.length) letters[c][size++] = word[word.length - 1 - c];
+            }
+        }
+        return letters;
+    }
+
+    // Result letter per column, units column first
+    static int[] resultLetters(CryptarithmPuzzle puzzle) {
+        int columns = puzzle.result.length;
+        int[] letters = new int[columns];
+        for (int c = 0; c < columns; c++) {
+            letters[c] = puzzle.result[columns - 1 - c];
+        }
+        return letters;
+    }
+
+    // Assigns the k-th addend letter of column col; sum holds the carry plus the
+    // digits of the column's letters before k
+    private boolean search(int col, int k, int sum) {
+        if (col == columnLetters.length) {
+            return sum == 0;   // No carry may be left past the result's leading digit
+        }
+        int[] letters = columnLetters[col];
+        if (k < letters.length) {
+            int letter = letters[k];
+            if (digits[letter] >= 0) {
+                return search(col, k + 1, sum + digits[letter]);
+            }
+            for (int free = freeDigits(letter); free != 0; free &= free - 1) {
+                int d = Integer.numberOfTrailingZeros(free);
+                assign(letter, d);
+                if (search(col, k + 1, sum + d)) return true;
+                unassign(letter, d);
+            }
+            return false;
+        }
+
+        // Every addend digit of the column is known: the result digit is forced
+        int d = sum % 10;
+        int letter = resultLetter[col];
+        if (digits[letter] >= 0) {
+            return digits[letter] == d && search(col + 1, 0, sum / 10);
+        }
+        if ((freeDigits(letter) >>> d & 1) == 0) return false;
+        assign(letter, d);
+        if (search(col + 1, 0, sum / 10)) return true;
+        unassign(letter, d);
+        return false;
+    }
+
+    private int freeDigits(int letter) {
+        int free = ~usedDigits & 0x3FF;
+        return puzzle.isLeading(letter) ? free & ~1 : free;
+    }
+
+    private void assign(int letter, int d) {
+        digits[letter] = d;
+        usedDigits |= 1 << d;
+    }
+
+    private void unassign(int letter, int d) {
+        digits[letter] = -1;
+        usedDigits &= ~(1 << d);
+    }
+}
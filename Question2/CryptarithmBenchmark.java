@@ -0,0 +1,82 @@
+package Question2;
+
+import java.util.Random;
+
+// Times the Question2b backtracking search against CoefficientSolver and ColumnSolver
+// on the GUI examples plus randomly generated puzzles, and checks that all three agree.
+// Usage: java Question2.CryptarithmBenchmark [randomPuzzles]
+public class CryptarithmBenchmark {
+    public static void main(String[] args) {
+        int randomPuzzles = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+
+        String[][] puzzles = new String[3 + randomPuzzles][];
+        puzzles[0] = new String[]{"SEND", "MORE", "MONEY"};
+        puzzles[1] = new String[]{"STAR", "MOON", "NIGHT"};
+        puzzles[2] = new String[]{"CODE", "BUG", "DEBUG"};
+        Random random = new Random(11);
+        for (int i = 3; i < puzzles.length; i++) {
+            puzzles[i] = randomPuzzle(random);
+        }
+
+        for (int round = 0; round < 5; round++) {
+            boolean report = round >= 2;   // First rounds are JIT warm-up
+
+            long start = System.nanoTime();
+            int solvable = 0;
+            boolean[] expected = new boolean[puzzles.length];
+            for (int i = 0; i < puzzles.length; i++) {
+                expected[i] = Question2b.isSolvable(puzzles[i][0], puzzles[i][1], puzzles[i][2]);
+                if (expected[i]) solvable++;
+            }
+            print(report, "Question2b.isSolvable", start, puzzles.length, solvable);
+
+            start = System.nanoTime();
+            for (int i = 0; i < puzzles.length; i++) {
+                check(puzzles[i], expected[i], CoefficientSolver.isSolvable(puzzles[i][0], puzzles[i][1], puzzles[i][2]));
+            }
+            print(report, "CoefficientSolver", start, puzzles.length, solvable);
+
+            start = System.nanoTime();
+            for (int i = 0; i < puzzles.length; i++) {
+                check(puzzles[i], expected[i], ColumnSolver.isSolvable(puzzles[i][0], puzzles[i][1], puzzles[i][2]));
+            }
+            print(report, "ColumnSolver", start, puzzles.length, solvable);
+        }
+    }
+
+    // Encodes a random true sum with a random digit-to-letter mapping; half of the results
+    // get their leading letter replaced, which makes some of them unsolvable
+    private static String[] randomPuzzle(Random random) {
+        char[] alphabet = "ABCDEFGHIJ".toCharArray();
+        for (int i = alphabet.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            char t = alphabet[i]; alphabet[i] = alphabet[j]; alphabet[j] = t;
+        }
+        long a = 1000 + random.nextInt(9000), b = 1000 + random.nextInt(9000);
+        String result = encode(a + b, alphabet);
+        if (random.nextBoolean()) {
+            result = alphabet[random.nextInt(alphabet.length)] + result.substring(1);
+        }
+        return new String[]{encode(a, alphabet), encode(b, alphabet), result};
+    }
+
+    private static String encode(long value, char[] alphabet) {
+        StringBuilder sb = new StringBuilder();
+        for (char c : Long.toString(value).toCharArray()) {
+            sb.append(alphabet[c - '0']);
+        }
+        return sb.toString();
+    }
+
+    private static void check(String[] puzzle, boolean expected, boolean actual) {
+        if (expected != actual) {
+            throw new IllegalStateException("Solvers disagree on " + puzzle[0] + " + " + puzzle[1] + " = " + puzzle[2]);
+        }
+    }
+
+    private static void print(boolean report, String label, long start, int count, int solvable) {
+        if (!report) return;
+        double nanos = System.nanoTime() - start;
+        System.out.printf("%-22s %10.1f us/puzzle   (%d of %d solvable)%n", label, nanos / count / 1e3, solvable, count);
+    }
+}
@@ -0,0 +1,89 @@
+package Question2;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Bounded LRU cache of solved puzzles keyed by CryptarithmPuzzle.canonical(), so a puzzle
+// that only relabels the letters of one solved before (SEND+MORE=MONEY under another
+// alphabet) is answered without searching. The cached value is the digit per letter
+// index, which carries over to every relabelling. Solving runs outside the lock, so two
+// threads missing on the same puzzle may both search it. Thread-safe.
+public final class CryptarithmCache {
+    private static final int[] UNSOLVABLE = new int[0];
+
+    private final LinkedHashMap<String, int[]> entries;
+    private long hits, misses;
+
+    public CryptarithmCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Cache capacity must be at least 1");
+        }
+        this.entries = new LinkedHashMap<String, int[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, int[]> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public boolean isSolvable(String word1, String word2, String result) {
+        return solve(CryptarithmPuzzle.of(word1, word2, result)) != null;
+    }
+
+    // Digit per letter index of a solution, or null when there is none
+    public int[] solve(CryptarithmPuzzle puzzle) {
+        String key = puzzle.canonical();
+        int[] digits;
+        synchronized (this) {
+            digits = entries.get(key);
+            if (digits != null) {
+                hits++;
+            } else {
+                misses++;
+            }
+        }
+        if (digits == null) {
+            int[] solved = ColumnSolver.solve(puzzle);
+            digits = solved == null ? UNSOLVABLE : solved;
+            synchronized (this) {
+                entries.put(key, digits);
+            }
+        }
+        return digits == UNSOLVABLE ? null : digits.clone();
+    }
+
+    public synchronized long hits() {
+        return hits;
+    }
+
+    public synchronized long misses() {
+        return misses;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public static void main(String[] args) {
+        CryptarithmCache cache = new CryptarithmCache(1024);
+        String[][] puzzles = {
+            {"SEND", "MORE", "MONEY"}, {"ABCD", "EFGB", "EFCBH"}, {"TOAI", "WRKO", "WRAOL"},
+            {"STAR", "MOON", "NIGHT"}, {"CODE", "BUG", "DEBUG"}, {"SEND", "MORE", "MONEY"}
+        };
+        for (String[] p : puzzles) {
+            CryptarithmPuzzle puzzle = CryptarithmPuzzle.of(p[0], p[1], p[2]);
+            long start = System.nanoTime();
+            int[] digits = cache.solve(puzzle);
+            if (digits != null && !puzzle.check(digits)) {
+                throw new IllegalStateException("Cached assignment does not solve " + puzzle.canonical());
+            }
+            System.out.printf("%s + %s = %s -> %s: %b in %.1f us%n", p[0], p[1], p[2], puzzle.canonical(),
+                              digits != null, (System.nanoTime() - start) / 1e3);
+        }
+        System.out.printf("Hits: %d, misses: %d, cached: %d%n", cache.hits(), cache.misses(), cache.size());
+    }
+}
@@ -0,0 +1,132 @@
+package Question2;
+
+import java.util.Arrays;
+
+// Parsed form of a Question2b equation: addend_1 + ... + addend_n = result.
+// Every distinct symbol becomes a letter index in first-occurrence order (addends left to
+// right, then the result), and each word is stored as letter indices, most significant
+// digit first, so solvers work on small int arrays instead of Map<Character,Integer>.
+public final class CryptarithmPuzzle {
+    private final char[] letters;
+    final int[][] addends;
+    final int[] result;
+    final int leadingMask;   // Bit i set when letter i starts a word and so cannot be 0
+
+    private CryptarithmPuzzle(char[] letters, int[][] addends, int[] result, int leadingMask) {
+        this.letters = letters;
+        this.addends = addends;
+        this.result = result;
+        this.leadingMask = leadingMask;
+    }
+
+    public static CryptarithmPuzzle of(String word1, String word2, String result) {
+        return of(new String[]{word1, word2}, result);
+    }
+
+    public static CryptarithmPuzzle of(String[] addends, String result) {
+        if (addends.length == 0) {
+            throw new IllegalArgumentException("A puzzle needs at least one addend");
+        }
+        char[] seen = new char[16];
+        int count = 0;
+        int[][] words = new int[addends.length + 1][];
+        int leadingMask = 0;
+        for (int w = 0; w <= addends.length; w++) {
+            String word = w < addends.length ? addends[w] : result;
+            if (word == null || word.isEmpty()) {
+                throw new IllegalArgumentException("Words must not be empty");
+            }
+            words[w] = new int[word.length()];
+            for (int i = 0; i < word.length(); i++) {
+                char c = word.charAt(i);
+                int index = 0;
+                while (index < count && seen[index] != c) index++;
+                if (index == count) {
+                    if (count == seen.length) seen = Arrays.copyOf(seen, count * 2);
+                    seen[count++] = c;
+                }
+                words[w][i] = index;
+            }
+            if (words[w][0] < 32) leadingMask |= 1 << words[w][0];
+        }
+        int[][] addendLetters = Arrays.copyOf(words, addends.length);
+        return new CryptarithmPuzzle(Arrays.copyOf(seen, count), addendLetters,
+                                     words[addends.length], leadingMask);
+    }
+
+    public int letterCount() {
+        return letters.length;
+    }
+
+    public char letter(int index) {
+        return letters[index];
+    }
+
+    public int addendCount() {
+        return addends.length;
+    }
+
+    public boolean isLeading(int letter) {
+        return (leadingMask >>> letter & 1) != 0;
+    }
+
+    // Equation with every letter renamed to 'A' + its index, e.g. SEND+MORE=MONEY and
+    // ABCD+EFGB=EFCBH both give "ABCD+EFGB=EFCBH". Relabelled puzzles share one canonical
+    // form, and a digit-per-letter-index solution of one solves the other.
+    public String canonical() {
+        StringBuilder sb = new StringBuilder();
+        for (int w = 0; w < addends.length; w++) {
+            if (w > 0) sb.append('+');
+            appendCanonical(sb, addends[w]);
+        }
+        sb.append('=');
+        appendCanonical(sb, result);
+        return sb.toString();
+    }
+
+    private static void appendCanonical(StringBuilder sb, int[] word) {
+        for (int letter : word) {
+            sb.append((char) ('A' + letter));
+        }
+    }
+
+    // Verifies a full assignment column by column, so long words cannot overflow
+    public boolean check(int[] digits) {
+        int used = 0;
+        for (int i = 0; i < letters.length; i++) {
+            int d = digits[i];
+            if (d < 0 || d > 9 || (used >>> d & 1) != 0 || (d == 0 && isLeading(i))) return false;
+            used |= 1 << d;
+        }
+        long carry = 0;
+        int columns = result.length;
+        for (int[] word : addends) columns = Math.max(columns, word.length);
+        for (int col = 0; col < columns; col++) {
+            long sum = carry;
+            for (int[] word : addends) {
+                if (col < word.length) sum += digits[word[word.length - 1 - col]];
+            }
+            int expected = col < result.length ? digits[result[result.length - 1 - col]] : 0;
+            if (sum % 10 != expected) return false;
+            carry = sum / 10;
+        }
+        return carry == 0;
+    }
+
+    // Numeric value of the result under an assignment; only meaningful up to 18 digits
+    public long resultValue(int[] digits) {
+        return value(result, digits);
+    }
+
+    public long addendValue(int addend, int[] digits) {
+        return value(addends[addend], digits);
+    }
+
+    private static long value(int[] word, int[] digits) {
+        long value = 0;
+        for (int letter : word) {
+            value = value * 10 + digits[letter];
+        }
+        return value;
+    }
+}
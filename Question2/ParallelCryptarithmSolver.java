@@ -0,0 +1,161 @@
+package Question2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+
+// Counts or enumerates every solution of an N-addend cryptarithm.
+// Uses the same column-by-column search as ColumnSolver but does not stop at the first
+// solution. The first one or two free letters reached (the units column) are split into
+// one fork-join task per digit choice, each with its own copy of the search state, so
+// idle workers steal whole subtrees. Used to check generated puzzles for uniqueness.
+public final class ParallelCryptarithmSolver {
+    static final int DEFAULT_SPLIT_LETTERS = 2;
+
+    private ParallelCryptarithmSolver() {}
+
+    public static long countSolutions(String[] addends, String result) {
+        return countSolutions(CryptarithmPuzzle.of(addends, result), ForkJoinPool.commonPool());
+    }
+
+    public static long countSolutions(CryptarithmPuzzle puzzle, ForkJoinPool pool) {
+        return run(puzzle, pool, DEFAULT_SPLIT_LETTERS, null);
+    }
+
+    // Calls onSolution with a fresh digit-per-letter array for every solution; the callback
+    // runs on pool threads and must be thread-safe. Returns the number of solutions.
+    public static long enumerate(CryptarithmPuzzle puzzle, ForkJoinPool pool, Consumer<int[]> onSolution) {
+        return run(puzzle, pool, DEFAULT_SPLIT_LETTERS, onSolution);
+    }
+
+    public static List<int[]> solutions(CryptarithmPuzzle puzzle, ForkJoinPool pool) {
+        ConcurrentLinkedQueue<int[]> found = new ConcurrentLinkedQueue<>();
+        enumerate(puzzle, pool, found::add);
+        return new ArrayList<>(found);
+    }
+
+    static long run(CryptarithmPuzzle puzzle, ForkJoinPool pool, int splitLetters, Consumer<int[]> onSolution) {
+        if (!ColumnSolver.mayHaveSolution(puzzle)) return 0;
+        int[] digits = new int[puzzle.letterCount()];
+        Arrays.fill(digits, -1);
+        SearchTask root = new SearchTask(ColumnSolver.columnLetters(puzzle), ColumnSolver.resultLetters(puzzle),
+                                         puzzle.leadingMask, onSolution, digits, 0, 0, 0, 0, splitLetters);
+        return pool.invoke(root);
+    }
+
+    private static final class SearchTask extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final int[][] columnLetters;
+        private final int[] resultLetter;
+        private final int leadingMask;
+        // Tasks are never serialized; the callback need not be Serializable
+        private final transient Consumer<int[]> onSolution;
+
+        private final int[] digits;
+        private int usedDigits;
+        private final int col, k, sum;
+        private final int splitsLeft;
+
+        SearchTask(int[][] columnLetters, int[] resultLetter, int leadingMask, Consumer<int[]> onSolution,
+                   int[] digits, int usedDigits, int col, int k, int sum, int splitsLeft) {
+            this.columnLetters = columnLetters;
+            this.resultLetter = resultLetter;
+            this.leadingMask = leadingMask;
+            this.onSolution = onSolution;
+            this.digits = digits;
+            this.usedDigits = usedDigits;
+            this.col = col;
+            this.k = k;
+            this.sum = sum;
+            this.splitsLeft = splitsLeft;
+        }
+
+        @Override
+        protected Long compute() {
+            return search(col, k, sum, splitsLeft);
+        }
+
+        private long search(int col, int k, int sum, int splitsLeft) {
+            if (col == columnLetters.length) {
+                if (sum != 0) return 0;
+                if (onSolution != null) onSolution.accept(digits.clone());
+                return 1;
+            }
+            int[] letters = columnLetters[col];
+            if (k < letters.length) {
+                int letter = letters[k];
+                if (digits[letter] >= 0) {
+                    return search(col, k + 1, sum + digits[letter], splitsLeft);
+                }
+                int free = freeDigits(letter);
+                if (splitsLeft > 0) {
+                    return fork(letter, free, col, k, sum, splitsLeft);
+                }
+                long count = 0;
+                for (; free != 0; free &= free - 1) {
+                    int d = Integer.numberOfTrailingZeros(free);
+                    digits[letter] = d;
+                    usedDigits |= 1 << d;
+                    count += search(col, k + 1, sum + d, 0);
+                    usedDigits &= ~(1 << d);
+                }
+                digits[letter] = -1;
+                return count;
+            }
+
+            // Every addend digit of the column is known: the result digit is forced
+            int d = sum % 10;
+            int letter = resultLetter[col];
+            if (digits[letter] >= 0) {
+                return digits[letter] == d ? search(col + 1, 0, sum / 10, splitsLeft) : 0;
+            }
+            if ((freeDigits(letter) >>> d & 1) == 0) return 0;
+            digits[letter] = d;
+            usedDigits |= 1 << d;
+            long count = search(col + 1, 0, sum / 10, splitsLeft);
+            usedDigits &= ~(1 << d);
+            digits[letter] = -1;
+            return count;
+        }
+
+        // One subtask per digit choice for this letter, each on a copy of the state
+        private long fork(int letter, int free, int col, int k, int sum, int splitsLeft) {
+            List<SearchTask> tasks = new ArrayList<>(Integer.bitCount(free));
+            for (; free != 0; free &= free - 1) {
+                int d = Integer.numberOfTrailingZeros(free);
+                int[] copy = digits.clone();
+                copy[letter] = d;
+                tasks.add(new SearchTask(columnLetters, resultLetter, leadingMask, onSolution,
+                                         copy, usedDigits | 1 << d, col, k + 1, sum + d, splitsLeft - 1));
+            }
+            long count = 0;
+            for (SearchTask task : invokeAll(tasks)) {
+                count += task.join();
+            }
+            return count;
+        }
+
+        private int freeDigits(int letter) {
+            int free = ~usedDigits & 0x3FF;
+            return (leadingMask >>> letter & 1) != 0 ? free & ~1 : free;
+        }
+    }
+
+    // Times a few known puzzles, including one with 41 addends
+    public static void main(String[] args) {
+        String[][] puzzles = {{"SEND", "MORE", "MONEY"}, {"STAR", "MOON", "NIGHT"},
+                              {"SO", "MANY", "MORE", "MEN", "SEEM", "TO", "SAY", "THAT", "THEY", "MAY", "SOON", "TRY", "TO", "STAY", "AT", "HOME", "SO", "AS", "TO", "SEE", "OR", "HEAR", "THE", "SAME", "ONE", "MAN", "TRY", "TO", "MEET", "THE", "TEAM", "ON", "THE", "MOON", "AS", "HE", "HAS", "AT", "THE", "OTHER", "TEN", "TESTS"}};
+        for (String[] p : puzzles) {
+            String[] addends = Arrays.copyOf(p, p.length - 1);
+            long start = System.nanoTime();
+            long count = countSolutions(addends, p[p.length - 1]);
+            System.out.printf("%d addends = %s: %d solution(s) in %.2f ms%n", addends.length, p[p.length - 1],
+                              count, (System.nanoTime() - start) / 1e6);
+        }
+    }
+}
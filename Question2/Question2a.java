@@ -45,8 +45,8 @@
 package Question2;
 import java.awt.*;
 import java.awt.event.*;
+import java.awt.image.BufferedImage;
 import java.util.*;
-import java.util.List;
 import javax.swing.*;
 
 public class Question2a extends JFrame {
@@ -55,6 +55,16 @@ public class Question2a extends JFrame {
     private JButton analyzeBtn, clearBtn, exampleBtn;
     private JPanel mainPanel, inputPanel, buttonPanel, resultPanel;
     private JPanel chartPanel;
+    private static final int MAX_LISTED_PERIODS = 1000;
+    
+    // Chart cache: the fields are parsed once per edit and the plot is drawn into an
+    // image that is only rebuilt when the data or the panel size changes
+    private int[] chartTemps;
+    private int chartLow, chartHigh, chartMin, chartMax;
+    private boolean chartDataValid;
+    private boolean chartDirty = true;     // Fields edited since the last parse
+    private boolean chartStale = true;     // Parsed data not yet drawn into chartImage
+    private BufferedImage chartImage;
     
     public Question2a() {
         setTitle("🌦️ Weather Anomaly Detection System");
@@ -245,83 +255,136 @@ public class Question2a extends JFrame {
         tempChangesField.addKeyListener(enterKey);
         lowThresholdField.addKeyListener(enterKey);
         highThresholdField.addKeyListener(enterKey);
+        
+        // Any edit invalidates the cached chart; it is re-parsed on the next repaint
+        javax.swing.event.DocumentListener chartInvalidator = new javax.swing.event.DocumentListener() {
+            public void changedUpdate(javax.swing.event.DocumentEvent e) { chartDirty = true; }
+            public void removeUpdate(javax.swing.event.DocumentEvent e) { chartDirty = true; }
+            public void insertUpdate(javax.swing.event.DocumentEvent e) { chartDirty = true; }
+        };
+        tempChangesField.getDocument().addDocumentListener(chartInvalidator);
+        lowThresholdField.getDocument().addDocumentListener(chartInvalidator);
+        highThresholdField.getDocument().addDocumentListener(chartInvalidator);
     }
     
+    // Paints the cached chart image, re-parsing only after an edit and re-rendering only
+    // when the data or the panel size changed
     private void drawTemperatureChart(Graphics g) {
-        Graphics2D g2d = (Graphics2D) g.create();
-        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        int panelWidth = chartPanel.getWidth(), panelHeight = chartPanel.getHeight();
+        if (panelWidth <= 0 || panelHeight <= 0) return;
         
+        if (chartDirty) {
+            refreshChartData();
+        }
+        if (chartImage == null || chartStale
+                || chartImage.getWidth() != panelWidth || chartImage.getHeight() != panelHeight) {
+            chartImage = renderChart(panelWidth, panelHeight);
+            chartStale = false;
+        }
+        g.drawImage(chartImage, 0, 0, null);
+    }
+    
+    private void refreshChartData() {
+        chartDirty = false;
+        chartStale = true;
         try {
-            int[] temps = parseTemperatureArray(tempChangesField.getText());
-            int low = Integer.parseInt(lowThresholdField.getText().trim());
-            int high = Integer.parseInt(highThresholdField.getText().trim());
-            
-            int width = chartPanel.getWidth() - 40;
-            int height = chartPanel.getHeight() - 60;
-            int x0 = 20, y0 = 30;
-            
-            if (temps.length == 0) return;
-            
-            // Find min and max for scaling
-            int minTemp = Arrays.stream(temps).min().getAsInt();
-            int maxTemp = Arrays.stream(temps).max().getAsInt();
-            int range = Math.max(maxTemp - minTemp, 1);
-            
-            // Draw axes
-            g2d.setColor(Color.BLACK);
-            g2d.setStroke(new BasicStroke(2));
-            g2d.drawLine(x0, y0 + height, x0 + width, y0 + height); // X-axis
-            g2d.drawLine(x0, y0, x0, y0 + height); // Y-axis
-            
-            // Draw threshold lines
-            g2d.setColor(new Color(255, 193, 7));
-            g2d.setStroke(new BasicStroke(2, BasicStroke.CAP_BUTT, BasicStroke.JOIN_BEVEL, 0, new float[]{5}, 0));
-            int yLow = y0 + height - (int)((low - minTemp) * height / range);
-            int yHigh = y0 + height - (int)((high - minTemp) * height / range);
-            g2d.drawLine(x0, yLow, x0 + width, yLow);
-            g2d.drawLine(x0, yHigh, x0 + width, yHigh);
-            
-            // Draw temperature line
-            g2d.setColor(new Color(0, 123, 255));
-            g2d.setStroke(new BasicStroke(3));
-            
-            int xStep = width / (temps.length - 1);
-            for (int i = 0; i < temps.length - 1; i++) {
-                int x1 = x0 + i * xStep;
-                int x2 = x0 + (i + 1) * xStep;
-                int y1 = y0 + height - (int)((temps[i] - minTemp) * height / range);
-                int y2 = y0 + height - (int)((temps[i + 1] - minTemp) * height / range);
-                g2d.drawLine(x1, y1, x2, y2);
+            chartTemps = parseTemperatureArray(tempChangesField.getText());
+            chartLow = Integer.parseInt(lowThresholdField.getText().trim());
+            chartHigh = Integer.parseInt(highThresholdField.getText().trim());
+            chartMin = Integer.MAX_VALUE;
+            chartMax = Integer.MIN_VALUE;
+            for (int t : chartTemps) {
+                chartMin = Math.min(chartMin, t);
+                chartMax = Math.max(chartMax, t);
             }
-            
-            // Draw points
-            g2d.setColor(new Color(220, 53, 69));
-            for (int i = 0; i < temps.length; i++) {
-                int x = x0 + i * xStep;
-                int y = y0 + height - (int)((temps[i] - minTemp) * height / range);
-                g2d.fillOval(x - 4, y - 4, 8, 8);
+            chartDataValid = true;
+        } catch (NumberFormatException e) {
+            chartTemps = null;
+            chartDataValid = false;
+        }
+    }
+    
+    private BufferedImage renderChart(int panelWidth, int panelHeight) {
+        BufferedImage image = new BufferedImage(panelWidth, panelHeight, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = image.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        
+        if (!chartDataValid) {
+            // If parsing fails, just draw empty chart
+            g2d.setColor(Color.GRAY);
+            g2d.setFont(new Font("Arial", Font.PLAIN, 14));
+            g2d.drawString("Enter valid data to see chart", panelWidth/2 - 80, panelHeight/2);
+            g2d.dispose();
+            return image;
+        }
+        
+        int[] temps = chartTemps;
+        int width = panelWidth - 40;
+        int height = panelHeight - 60;
+        int x0 = 20, y0 = 30;
+        
+        if (temps.length == 0 || width <= 0 || height <= 0) {
+            g2d.dispose();
+            return image;
+        }
+        
+        // Draw axes
+        g2d.setColor(Color.BLACK);
+        g2d.setStroke(new BasicStroke(2));
+        g2d.drawLine(x0, y0 + height, x0 + width, y0 + height); // X-axis
+        g2d.drawLine(x0, y0, x0, y0 + height); // Y-axis
+        
+        // Draw threshold lines
+        g2d.setColor(new Color(255, 193, 7));
+        g2d.setStroke(new BasicStroke(2, BasicStroke.CAP_BUTT, BasicStroke.JOIN_BEVEL, 0, new float[]{5}, 0));
+        int yLow = chartY(chartLow, y0, height);
+        int yHigh = chartY(chartHigh, y0, height);
+        g2d.drawLine(x0, yLow, x0 + width, yLow);
+        g2d.drawLine(x0, yHigh, x0 + width, yHigh);
+        
+        // Draw temperature line through the min/max of each pixel column
+        int[] shown = ChartDownsampler.minMax(temps, width);
+        int[] xs = new int[shown.length];
+        int[] ys = new int[shown.length];
+        for (int k = 0; k < shown.length; k++) {
+            xs[k] = chartX(shown[k], temps.length, x0, width);
+            ys[k] = chartY(temps[shown[k]], y0, height);
+        }
+        boolean detailed = temps.length <= width / 20;
+        g2d.setColor(new Color(0, 123, 255));
+        g2d.setStroke(new BasicStroke(detailed ? 3 : 1));
+        g2d.drawPolyline(xs, ys, shown.length);
+        
+        // Draw points, only while they are far enough apart to read
+        if (detailed) {
+            g2d.setFont(new Font("Arial", Font.PLAIN, 10));
+            for (int k = 0; k < shown.length; k++) {
+                g2d.setColor(new Color(220, 53, 69));
+                g2d.fillOval(xs[k] - 4, ys[k] - 4, 8, 8);
                 
                 // Draw temperature values
                 g2d.setColor(Color.BLACK);
-                g2d.setFont(new Font("Arial", Font.PLAIN, 10));
-                g2d.drawString(String.valueOf(temps[i]), x - 10, y - 8);
-                g2d.setColor(new Color(220, 53, 69));
+                g2d.drawString(String.valueOf(temps[shown[k]]), xs[k] - 10, ys[k] - 8);
             }
-            
-            // Draw labels
-            g2d.setColor(Color.BLACK);
-            g2d.setFont(new Font("Arial", Font.BOLD, 12));
-            g2d.drawString("Temperature Changes (°C)", width/2 + x0 - 50, y0 + height + 20);
-            g2d.drawString("Days", 10, y0 + height/2);
-            
-        } catch (Exception e) {
-            // If parsing fails, just draw empty chart
-            g2d.setColor(Color.GRAY);
-            g2d.setFont(new Font("Arial", Font.PLAIN, 14));
-            g2d.drawString("Enter valid data to see chart", chartPanel.getWidth()/2 - 80, chartPanel.getHeight()/2);
         }
         
+        // Draw labels
+        g2d.setColor(Color.BLACK);
+        g2d.setFont(new Font("Arial", Font.BOLD, 12));
+        g2d.drawString("Temperature Changes (°C)", width/2 + x0 - 50, y0 + height + 20);
+        g2d.drawString("Days", 10, y0 + height/2);
+        
         g2d.dispose();
+        return image;
+    }
+    
+    private int chartX(int day, int days, int x0, int width) {
+        return x0 + (int) ((long) day * width / Math.max(days - 1, 1));
+    }
+    
+    private int chartY(int value, int y0, int height) {
+        long range = Math.max((long) chartMax - chartMin, 1);
+        return y0 + height - (int) (((long) value - chartMin) * height / range);
     }
     
     private int[] parseTemperatureArray(String input) {
@@ -335,16 +398,23 @@ public class Question2a extends JFrame {
     
     private void analyzeAnomalies() {
         try {
-            int[] temperature_changes = parseTemperatureArray(tempChangesField.getText().trim());
-            int low = Integer.parseInt(lowThresholdField.getText().trim());
-            int high = Integer.parseInt(highThresholdField.getText().trim());
+            // Shares the chart's parse, so a large series is only split once per edit
+            if (chartDirty) {
+                refreshChartData();
+            }
+            if (!chartDataValid) {
+                throw new NumberFormatException();
+            }
+            int[] temperature_changes = chartTemps;
+            int low = chartLow;
+            int high = chartHigh;
             
             if (low > high) {
                 showError("Low threshold cannot be greater than high threshold!");
                 return;
             }
             
-            int result = countAnomalousPeriods(temperature_changes, low, high);
+            long result = AnomalyEngine.countAnomalousPeriods(temperature_changes, low, high);
             
             StringBuilder sb = new StringBuilder();
             sb.append("🌦️ WEATHER ANOMALY ANALYSIS\n");
@@ -361,27 +431,20 @@ public class Question2a extends JFrame {
             sb.append("• Number of days: ").append(temperature_changes.length).append("\n\n");
             
             sb.append("🔍 DETAILED ANALYSIS:\n");
-            List<String> validPeriods = new ArrayList<>();
-            int totalPeriods = 0;
-            
-            for (int start = 0; start < temperature_changes.length; start++) {
-                int sum = 0;
-                for (int end = start; end < temperature_changes.length; end++) {
-                    sum += temperature_changes[end];
-                    totalPeriods++;
-                    
-                    if (sum >= low && sum <= high) {
-                        validPeriods.add(String.format("Days %d-%d: sum=%d ✅", start, end, sum));
-                    }
-                }
-            }
-            
+            // Totals come from the prefix-sum index; only the first periods are listed
+            long totalPeriods = (long) temperature_changes.length * (temperature_changes.length + 1) / 2;
             sb.append("• Total possible periods: ").append(totalPeriods).append("\n");
-            sb.append("• Valid anomalous periods: ").append(validPeriods.size()).append("\n\n");
+            sb.append("• Valid anomalous periods: ").append(result).append("\n\n");
             
             sb.append("✅ VALID PERIODS:\n");
-            for (String period : validPeriods) {
-                sb.append("• ").append(period).append("\n");
+            AnomalousPeriodIterator periods = new AnomalousPeriodIterator(temperature_changes, low, high);
+            int listed = 0;
+            while (listed < MAX_LISTED_PERIODS && periods.next()) {
+                sb.append("• ").append(String.format("Days %d-%d: sum=%d ✅", periods.start(), periods.end(), periods.total())).append("\n");
+                listed++;
+            }
+            if (result > listed) {
+                sb.append("• ... and ").append(result - listed).append(" more\n");
             }
             sb.append("\n");
             
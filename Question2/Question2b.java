@@ -23,6 +23,7 @@ public class Question2b extends JFrame {
     private JTextArea resultArea;
     private JButton solveBtn, clearBtn, exampleBtn;
     private JPanel mainPanel, inputPanel, buttonPanel, resultPanel;
+    private final CryptarithmCache solverCache = new CryptarithmCache(256);
     
     public Question2b() {
         setTitle("🧩 Cryptarithmetic Puzzle Solver");
@@ -210,7 +211,9 @@ public class Question2b extends JFrame {
             return;
         }
         
-        boolean isSolvable = isSolvable(word1, word2, result);
+        CryptarithmPuzzle puzzle = CryptarithmPuzzle.of(word1, word2, result);
+        int[] digits = solverCache.solve(puzzle);
+        boolean isSolvable = digits != null;
         
         StringBuilder sb = new StringBuilder();
         sb.append("🧩 CRYPTARITHMETIC PUZZLE ANALYSIS\n");
@@ -237,6 +240,11 @@ public class Question2b extends JFrame {
         sb.append("🎯 SOLUTION RESULT:\n");
         if (isSolvable) {
             sb.append("✅ SOLVABLE: A valid digit mapping exists!\n\n");
+            sb.append("🔢 DIGIT MAPPING:\n");
+            for (int i = 0; i < puzzle.letterCount(); i++) {
+                sb.append("• ").append(puzzle.letter(i)).append(" = ").append(digits[i]).append("\n");
+            }
+            sb.append("\n");
             sb.append("💡 EXPLANATION:\n");
             sb.append("• The puzzle can be solved with unique digit assignments\n");
             sb.append("• No leading zeros are assigned to any word\n");
@@ -251,10 +259,10 @@ public class Question2b extends JFrame {
         sb.append("\n");
         
         sb.append("🔧 ALGORITHM EXPLANATION:\n");
-        sb.append("1. Use backtracking to try all possible digit assignments\n");
-        sb.append("2. Ensure each letter gets a unique digit (0-9)\n");
-        sb.append("3. Prevent leading zeros in any word\n");
-        sb.append("4. Check if the equation holds: word1 + word2 = result\n");
+        sb.append("1. Assign digits column by column, starting from the units column\n");
+        sb.append("2. Carry each column's overflow into the next column\n");
+        sb.append("3. Reject a branch as soon as a column's last digit does not match\n");
+        sb.append("4. Track used digits and leading letters (no zeros) as bitmasks\n");
         
         resultArea.setText(sb.toString());
     }
@@ -352,8 +360,8 @@ public class Question2b extends JFrame {
         return word1.charAt(0) == c || word2.charAt(0) == c || result.charAt(0) == c;
     }
     
-    private static int wordToNumber(String w, Map<Character, Integer> charToDigit) {
-        int num = 0;
+    private static long wordToNumber(String w, Map<Character, Integer> charToDigit) {
+        long num = 0;
         for (char c : w.toCharArray()) {
             num = num * 10 + charToDigit.get(c);
         }
@@ -361,7 +369,7 @@ public class Question2b extends JFrame {
     }
     
     private static boolean checkSolution(Map<Character, Integer> charToDigit, String word1, String word2, String result) {
-        int sum = wordToNumber(word1, charToDigit) + wordToNumber(word2, charToDigit);
+        long sum = wordToNumber(word1, charToDigit) + wordToNumber(word2, charToDigit);
         return sum == wordToNumber(result, charToDigit);
     }
 
@@ -0,0 +1,270 @@
+package Question2;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+// Headless Question2a analysis for many weather stations at once.
+// Reads a columnar binary file, shards the stations across a fork-join pool and writes
+// one "station,days,count" line per station. The value block is mapped once, in windows
+// of up to 2^28 values, and each station's deltas are read by absolute index straight
+// into the worker's prefix-sum scratch, so no per-station mapping, int[] or copy is made.
+//
+// File layout (big-endian):
+//  int magic "WXST", int version, int station count, int value type (0 = int32, 1 = float32)
+//  per station: int station id, int day count, long index of its first value
+//  value block: 4-byte values, starting right after the station index
+public final class StationBatchEngine {
+    public static final int INT32 = 0;
+    public static final int FLOAT32 = 1;
+
+    private static final int MAGIC = 0x57585354;   // "WXST"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final int STATION_BYTES = 16;
+    private static final int WINDOW_SHIFT = 28;   // values per mapped window, 1 GB of int32
+    private static final long WINDOW_MASK = (1L << WINDOW_SHIFT) - 1;
+
+    private StationBatchEngine() {}
+
+    public static final class Result {
+        private final int[] stationIds;
+        private final long[] counts;
+        private final long totalDeltas;
+        private final long nanos;
+
+        Result(int[] stationIds, long[] counts, long totalDeltas, long nanos) {
+            this.stationIds = stationIds;
+            this.counts = counts;
+            this.totalDeltas = totalDeltas;
+            this.nanos = nanos;
+        }
+
+        public int stations() {
+            return counts.length;
+        }
+
+        public int stationId(int station) {
+            return stationIds[station];
+        }
+
+        public long count(int station) {
+            return counts[station];
+        }
+
+        public long totalDeltas() {
+            return totalDeltas;
+        }
+
+        public double stationsPerSecond() {
+            return counts.length / (nanos / 1e9);
+        }
+
+        public double deltasPerSecond() {
+            return totalDeltas / (nanos / 1e9);
+        }
+    }
+
+    public static Result run(Path input, Path output, double low, double high) throws IOException {
+        return run(input, output, low, high, ForkJoinPool.commonPool());
+    }
+
+    public static Result run(Path input, Path output, double low, double high, ForkJoinPool pool) throws IOException {
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(channel.size(), HEADER_BYTES));
+            if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException("Not a station delta file: " + input);
+            }
+            int stations = header.getInt();
+            int valueType = header.getInt();
+            if (valueType != INT32 && valueType != FLOAT32) {
+                throw new IOException("Unknown value type " + valueType);
+            }
+
+            long valuesStart = HEADER_BYTES + (long) stations * STATION_BYTES;
+            MappedByteBuffer index = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES, valuesStart - HEADER_BYTES);
+            int[] ids = new int[stations];
+            int[] lengths = new int[stations];
+            long[] firstValues = new long[stations];
+            long totalDeltas = 0;
+            for (int s = 0; s < stations; s++) {
+                ids[s] = index.getInt();
+                lengths[s] = index.getInt();
+                firstValues[s] = index.getLong();
+                totalDeltas += lengths[s];
+                if (valuesStart + (firstValues[s] + lengths[s]) * 4 > channel.size()) {
+                    throw new IOException("Station " + ids[s] + " runs past the end of the file");
+                }
+            }
+
+            // Absolute gets never move a buffer's position, so workers share the windows
+            long valueCount = (channel.size() - valuesStart) / 4;
+            int windowCount = (int) ((valueCount + WINDOW_MASK) >>> WINDOW_SHIFT);
+            IntBuffer[] intWindows = new IntBuffer[valueType == INT32 ? windowCount : 0];
+            FloatBuffer[] floatWindows = new FloatBuffer[valueType == FLOAT32 ? windowCount : 0];
+            for (int w = 0; w < windowCount; w++) {
+                long first = (long) w << WINDOW_SHIFT;
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, valuesStart + first * 4,
+                                                      Math.min(WINDOW_MASK + 1, valueCount - first) * 4);
+                if (valueType == INT32) {
+                    intWindows[w] = window.asIntBuffer();
+                } else {
+                    floatWindows[w] = window.asFloatBuffer();
+                }
+            }
+
+            long[] counts = new long[stations];
+            ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+            pool.submit(() -> IntStream.range(0, stations).parallel().forEach(s ->
+                counts[s] = valueType == INT32
+                    ? scratch.get().countInts(intWindows, firstValues[s], lengths[s], low, high)
+                    : scratch.get().countFloats(floatWindows, firstValues[s], lengths[s], low, high)
+            )).join();
+
+            try (BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+                writer.write("station,days,count\n");
+                for (int s = 0; s < stations; s++) {
+                    writer.write(ids[s] + "," + lengths[s] + "," + counts[s] + "\n");
+                }
+            }
+            return new Result(ids, counts, totalDeltas, System.nanoTime() - start);
+        }
+    }
+
+    // Writes int32 station series in the layout run() reads
+    public static void writeInts(Path file, int[] stationIds, int[][] deltas) throws IOException {
+        long values = 0;
+        for (int[] series : deltas) values += series.length;
+        long size = HEADER_BYTES + (long) stationIds.length * STATION_BYTES + values * 4;
+
+        Files.deleteIfExists(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(stationIds.length).putInt(INT32);
+            long first = 0;
+            for (int s = 0; s < stationIds.length; s++) {
+                if (buffer.remaining() < STATION_BYTES) drain(buffer, channel);
+                buffer.putInt(stationIds[s]).putInt(deltas[s].length).putLong(first);
+                first += deltas[s].length;
+            }
+            for (int[] series : deltas) {
+                for (int delta : series) {
+                    if (buffer.remaining() < 4) drain(buffer, channel);
+                    buffer.putInt(delta);
+                }
+            }
+            drain(buffer, channel);
+            if (channel.size() != size) {
+                throw new IOException("Short write to " + file);
+            }
+        }
+    }
+
+    private static void drain(ByteBuffer buffer, FileChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // Per-worker prefix-sum and merge buffers, grown to the longest station seen
+    private static final class Scratch {
+        long[] longPrefix = new long[0], longBuffer = new long[0];
+        double[] doublePrefix = new double[0], doubleBuffer = new double[0];
+
+        long countInts(IntBuffer[] windows, long first, int days, double low, double high) {
+            if (longPrefix.length < days + 1) {
+                longPrefix = new long[days + 1];
+                longBuffer = new long[days + 1];
+            }
+            // countPairs leaves the previous station's prefixes sorted in place
+            longPrefix[0] = 0;
+            // A station may straddle windows, so read it one window-sized run at a time
+            for (int i = 0; i < days; ) {
+                long value = first + i;
+                IntBuffer window = windows[(int) (value >>> WINDOW_SHIFT)];
+                int offset = (int) (value & WINDOW_MASK);
+                int end = i + Math.min(days - i, window.limit() - offset);
+                for (; i < end; i++) {
+                    longPrefix[i + 1] = longPrefix[i] + window.get(offset++);
+                }
+            }
+            // Integer sums: [low, high] is the same as [ceil(low), floor(high)]. Huge or
+            // infinite bounds cast to ±Long.MAX_VALUE, so clamp them before subtracting
+            long from = (long) Math.ceil(low), to = (long) Math.floor(high);
+            if (from > to) return 0;
+            return AnomalyEngine.countPairs(longPrefix, longBuffer, 0, days + 1,
+                                            AnomalyEngine.clampThreshold(from, days),
+                                            AnomalyEngine.clampThreshold(to, days));
+        }
+
+        long countFloats(FloatBuffer[] windows, long first, int days, double low, double high) {
+            if (doublePrefix.length < days + 1) {
+                doublePrefix = new double[days + 1];
+                doubleBuffer = new double[days + 1];
+            }
+            doublePrefix[0] = 0;
+            for (int i = 0; i < days; ) {
+                long value = first + i;
+                FloatBuffer window = windows[(int) (value >>> WINDOW_SHIFT)];
+                int offset = (int) (value & WINDOW_MASK);
+                int end = i + Math.min(days - i, window.limit() - offset);
+                for (; i < end; i++) {
+                    doublePrefix[i + 1] = doublePrefix[i] + window.get(offset++);
+                }
+            }
+            return countPairs(doublePrefix, doubleBuffer, days + 1, low, high);
+        }
+    }
+
+    // Float32 counterpart of AnomalyEngine.countPairs: bottom-up merge sort over
+    // prefix[0..size) counting pairs i < j with prefix[j] - prefix[i] in [low, high]
+    static long countPairs(double[] prefix, double[] buffer, int size, double low, double high) {
+        if (low > high) return 0;
+        long count = 0;
+        for (int width = 1; width < size; width <<= 1) {
+            for (int from = 0; from + width < size; from += width << 1) {
+                int mid = from + width, to = Math.min(from + (width << 1), size);
+                int a = from, b = from;
+                for (int j = mid; j < to; j++) {
+                    double p = prefix[j];
+                    while (a < mid && p - prefix[a] > high) a++;
+                    while (b < mid && p - prefix[b] >= low) b++;
+                    count += b - a;
+                }
+                int i = from, j = mid, k = from;
+                while (i < mid && j < to) buffer[k++] = prefix[i] <= prefix[j] ? prefix[i++] : prefix[j++];
+                while (i < mid) buffer[k++] = prefix[i++];
+                while (j < to) buffer[k++] = prefix[j++];
+                System.arraycopy(buffer, from, prefix, from, to - from);
+            }
+        }
+        return count;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 4) {
+            System.err.println("Usage: java Question2.StationBatchEngine <stations.bin> <counts.csv> <low> <high>");
+            System.exit(1);
+        }
+        Result result = run(Paths.get(args[0]), Paths.get(args[1]),
+                            Double.parseDouble(args[2]), Double.parseDouble(args[3]));
+        System.out.printf("Stations: %d, deltas: %d%n", result.stations(), result.totalDeltas());
+        System.out.printf("Throughput: %.0f stations/s, %.0f deltas/s%n",
+                          result.stationsPerSecond(), result.deltasPerSecond());
+    }
+}
@@ -0,0 +1,202 @@
+package Question2;
+
+import java.util.Random;
+
+// Live-feed version of the Question2a anomaly count.
+// Answers "how many periods inside the last W readings have a total in [low, high]"
+// after every push. The window's W + 1 prefix sums are kept in an order-statistic
+// treap, so adding a reading and evicting the oldest one each cost O(log W):
+//  - the new prefix P closes one valid period per stored prefix in [P - high, P - low]
+//  - the evicted prefix Q opened one per stored prefix in [Q + low, Q + high]
+// Memory is bounded by W. Not thread-safe.
+public class StreamingAnomalyCounter {
+    private final int window;
+    private final long low, high;
+
+    // Ring buffer of the prefix sums currently in the window, oldest at head
+    private final long[] prefixes;
+    private int head;
+    private int readings;
+    private long prefixSum;
+    private long count;
+
+    private final PrefixTreap treap;
+
+    public StreamingAnomalyCounter(int window, long low, long high) {
+        if (window < 1) {
+            throw new IllegalArgumentException("Window must hold at least one reading");
+        }
+        this.window = window;
+        this.low = AnomalyEngine.clampThreshold(low, window);
+        this.high = AnomalyEngine.clampThreshold(high, window);
+        this.prefixes = new long[window + 1];
+        this.treap = new PrefixTreap(window + 1);
+        treap.insert(0L);   // Prefix sum before the first reading
+    }
+
+    public void push(int delta) {
+        if (readings == window) {
+            evictOldest();
+        }
+        prefixSum += delta;
+        if (low <= high) {
+            count += treap.countInRange(prefixSum - high, prefixSum - low);
+        }
+        treap.insert(prefixSum);
+        prefixes[(head + readings + 1) % prefixes.length] = prefixSum;
+        readings++;
+    }
+
+    public long currentCount() {
+        return count;
+    }
+
+    public int readings() {
+        return readings;
+    }
+
+    private void evictOldest() {
+        long oldest = prefixes[head];
+        treap.remove(oldest);
+        if (low <= high) {
+            count -= treap.countInRange(oldest + low, oldest + high);
+        }
+        head = (head + 1) % prefixes.length;
+        readings--;
+    }
+
+    // Array-backed treap over long keys with duplicate counts and subtree sizes
+    private static final class PrefixTreap {
+        private static final int NIL = 0;
+
+        private final long[] keys;
+        private final int[] priorities, left, right, copies, sizes;
+        private final int[] free;
+        private int freeCount;
+        private int root = NIL;
+        private final Random random = new Random(0x5EED);
+
+        PrefixTreap(int capacity) {
+            int nodes = capacity + 1;   // Slot 0 is the NIL sentinel
+            keys = new long[nodes];
+            priorities = new int[nodes];
+            left = new int[nodes];
+            right = new int[nodes];
+            copies = new int[nodes];
+            sizes = new int[nodes];
+            free = new int[capacity];
+            for (int i = 0; i < capacity; i++) {
+                free[freeCount++] = nodes - 1 - i;
+            }
+        }
+
+        void insert(long key) {
+            root = insert(root, key);
+        }
+
+        void remove(long key) {
+            root = remove(root, key);
+        }
+
+        long countInRange(long from, long to) {
+            if (from > to) return 0;
+            return countLessOrEqual(to) - countLess(from);
+        }
+
+        private int insert(int t, long key) {
+            if (t == NIL) {
+                int node = free[--freeCount];
+                keys[node] = key;
+                priorities[node] = random.nextInt();
+                left[node] = right[node] = NIL;
+                copies[node] = sizes[node] = 1;
+                return node;
+            }
+            if (key == keys[t]) {
+                copies[t]++;
+            } else if (key < keys[t]) {
+                left[t] = insert(left[t], key);
+                if (priorities[left[t]] > priorities[t]) t = rotateRight(t);
+            } else {
+                right[t] = insert(right[t], key);
+                if (priorities[right[t]] > priorities[t]) t = rotateLeft(t);
+            }
+            update(t);
+            return t;
+        }
+
+        private int remove(int t, long key) {
+            if (t == NIL) return NIL;
+            if (key < keys[t]) {
+                left[t] = remove(left[t], key);
+            } else if (key > keys[t]) {
+                right[t] = remove(right[t], key);
+            } else if (copies[t] > 1) {
+                copies[t]--;
+            } else if (left[t] == NIL || right[t] == NIL) {
+                int child = left[t] == NIL ? right[t] : left[t];
+                free[freeCount++] = t;
+                return child;
+            } else {
+                // Rotate the node down towards a leaf, keeping heap order
+                if (priorities[left[t]] > priorities[right[t]]) {
+                    t = rotateRight(t);
+                    right[t] = remove(right[t], key);
+                } else {
+                    t = rotateLeft(t);
+                    left[t] = remove(left[t], key);
+                }
+            }
+            update(t);
+            return t;
+        }
+
+        private long countLess(long key) {
+            long count = 0;
+            for (int t = root; t != NIL; ) {
+                if (keys[t] < key) {
+                    count += sizes[left[t]] + copies[t];
+                    t = right[t];
+                } else {
+                    t = left[t];
+                }
+            }
+            return count;
+        }
+
+        private long countLessOrEqual(long key) {
+            long count = 0;
+            for (int t = root; t != NIL; ) {
+                if (keys[t] <= key) {
+                    count += sizes[left[t]] + copies[t];
+                    t = right[t];
+                } else {
+                    t = left[t];
+                }
+            }
+            return count;
+        }
+
+        private int rotateRight(int t) {
+            int l = left[t];
+            left[t] = right[l];
+            right[l] = t;
+            update(t);
+            update(l);
+            return l;
+        }
+
+        private int rotateLeft(int t) {
+            int r = right[t];
+            right[t] = left[r];
+            left[r] = t;
+            update(t);
+            update(r);
+            return r;
+        }
+
+        private void update(int t) {
+            sizes[t] = sizes[left[t]] + sizes[right[t]] + copies[t];
+        }
+    }
+}
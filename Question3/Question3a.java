@@ -41,34 +41,60 @@ times. In that case, the output would be 3, since it's the maximum possible*/
 
 
 package Question3;
+
+import java.util.Arrays;
+
 public class Question3a {
 
     public static int maxRepetitions(String p1, int t1, String p2, int t2) {
+        return (int) maxRepetitions(p1, (long) t1, p2, (long) t2);
+    }
+
+    // Same answer without walking all t1 copies of p1. After each copy the only state is
+    // the position reached in p2, which has |p2| possible values, so within |p2| + 1 copies
+    // a position repeats. From then on every `period` copies match the same number of p2
+    // copies, so the middle is skipped arithmetically: O(|p1|·|p2|) for any t1.
+    public static long maxRepetitions(String p1, long t1, String p2, long t2) {
         int len1 = p1.length();
         int len2 = p2.length();
+        if (t1 <= 0) return Math.min(0, t2);
 
-        int i = 0, j = 0;  // pointers in p1 and p2
-        int count1 = 0;    // how many times p1 repeated processed
-        int count2 = 0;    // how many times p2 repeated matched
+        int[] blockAt = new int[len2];          // Copy of p1 after which position j was first seen
+        Arrays.fill(blockAt, -1);
+        long[] countAfter = new long[len2 + 2]; // p2 copies matched after each copy of p1
+        blockAt[0] = 0;
 
-        while (count1 < t1) {
-            if (p1.charAt(i) == p2.charAt(j)) {
-                j++;
-                if (j == len2) {
-                    j = 0;
-                    count2++;  // matched one full p2 sequence
+        int j = 0;
+        long count2 = 0;
+        for (int block = 1; block <= t1; block++) {
+            for (int i = 0; i < len1; i++) {
+                if (p1.charAt(i) == p2.charAt(j)) {
+                    j++;
+                    if (j == len2) {
+                        j = 0;
+                        count2++;
+                    }
                 }
             }
-            i++;
-            if (i == len1) {
-                i = 0;
-                count1++;  // finished one repeat of p1
+            countAfter[block] = count2;
+
+            if (blockAt[j] >= 0) {
+                int first = blockAt[j];
+                int period = block - first;
+                long perPeriod = count2 - countAfter[first];
+                long remaining = t1 - block;
+                long tail = countAfter[first + (int) (remaining % period)] - countAfter[first];
+                try {
+                    count2 = Math.addExact(count2, Math.multiplyExact(remaining / period, perPeriod));
+                    count2 = Math.addExact(count2, tail);
+                } catch (ArithmeticException e) {
+                    count2 = Long.MAX_VALUE;    // More copies than any t2 can ask for
+                }
+                break;
             }
+            blockAt[j] = block;
         }
-
-        int result = Math.min(count2, t2);
-        System.out.println("Matched repetitions: " + count2 + ", Requested: " + t2 + ", Returning: " + result);
-        return result;
+        return Math.min(count2, t2);
     }
 
     public static void main(String[] args) {
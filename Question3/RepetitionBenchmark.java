@@ -0,0 +1,102 @@
+package Question3;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+// Times the Question3 fast paths on generated data: a RepetitionIndex batch against
+// per-pattern Question3a calls, a RepetitionJumpTable sweep over t1, and one
+// StreamingSubsequenceCounter pass against per-pattern scans of the same stream.
+// Results are checked against the slower path on a sample as they are timed.
+// Usage: java Question3.RepetitionBenchmark
+public class RepetitionBenchmark {
+    public static void main(String[] args) {
+        Random random = new Random(2024);
+        indexBatch(random);
+        jumpTableSweep(random);
+        streamingDispatch(random);
+    }
+
+    private static void indexBatch(Random random) {
+        String p1 = randomText(random, 10_000, 26);
+        String[] patterns = new String[5_000];
+        long[] t2s = new long[patterns.length];
+        for (int q = 0; q < patterns.length; q++) {
+            patterns[q] = randomText(random, 1 + random.nextInt(50), 26);
+            t2s[q] = Long.MAX_VALUE;
+        }
+        long t1 = 1_000_000_000_000L;
+
+        long start = System.nanoTime();
+        RepetitionIndex index = new RepetitionIndex(p1);
+        long built = System.nanoTime();
+        long[] answers = index.maxRepetitions(t1, patterns, t2s);
+        long queried = System.nanoTime();
+        for (int q = 0; q < 200; q++) {
+            if (Question3a.maxRepetitions(p1, t1, patterns[q], t2s[q]) != answers[q]) {
+                throw new IllegalStateException("Batch mismatch for pattern " + q);
+            }
+        }
+        long scanned = System.nanoTime();
+        System.out.printf("Index build %.1f ms, %d batch queries %.1f ms (%.1f us each), "
+                          + "Question3a %.1f us each%n", (built - start) / 1e6, patterns.length,
+                          (queried - built) / 1e6, (queried - built) / 1e3 / patterns.length,
+                          (scanned - queried) / 1e3 / 200);
+    }
+
+    private static void jumpTableSweep(Random random) {
+        String p1 = randomText(random, 2_000, 3), p2 = randomText(random, 200, 3);
+        int points = 1_000_000;
+        long start = System.nanoTime();
+        RepetitionJumpTable table = new RepetitionJumpTable(p1, p2);
+        long built = System.nanoTime();
+        long sink = 0;
+        for (int q = 0; q < points; q++) {
+            sink += table.maxRepetitions(1_000_000_000_000L + 7_919L * q, Long.MAX_VALUE);
+        }
+        long swept = System.nanoTime();
+        System.out.printf("Jump table build %.1f ms, %d sweep points %.1f ms (%.0f ns each, checksum %d)%n",
+                          (built - start) / 1e6, points, (swept - built) / 1e6, (double) (swept - built) / points, sink);
+    }
+
+    private static void streamingDispatch(Random random) {
+        byte[] log = new byte[10_000_000];
+        for (int i = 0; i < log.length; i++) log[i] = (byte) ('a' + random.nextInt(26));
+        String[] patterns = new String[1_000];
+        for (int i = 0; i < patterns.length; i++) patterns[i] = randomText(random, 3 + random.nextInt(10), 26);
+        StreamingSubsequenceCounter counter = StreamingSubsequenceCounter.of(patterns);
+        long start = System.nanoTime();
+        counter.accept(ByteBuffer.wrap(log));
+        long streamed = System.nanoTime() - start;
+
+        // Per-pattern scans of the same data, only for the first few patterns
+        int scanned = 20;
+        start = System.nanoTime();
+        for (int i = 0; i < scanned; i++) {
+            byte[] pattern = patterns[i].getBytes(StandardCharsets.US_ASCII);
+            long matched = 0;
+            int p = 0;
+            for (byte b : log) {
+                if (b == pattern[p] && ++p == pattern.length) {
+                    p = 0;
+                    matched++;
+                }
+            }
+            if (matched != counter.copies(i)) {
+                throw new IllegalStateException("Mismatch for pattern " + patterns[i]);
+            }
+        }
+        long perPattern = (System.nanoTime() - start) / scanned;
+        System.out.printf("%d patterns over %d MB: one dispatch pass %.0f ms, per-pattern scan %.0f ms each "
+                          + "(%.0f ms for all)%n", patterns.length, log.length / 1_000_000, streamed / 1e6,
+                          perPattern / 1e6, perPattern * (double) patterns.length / 1e6);
+    }
+
+    private static String randomText(Random random, int length, int letters) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            sb.append((char) ('a' + random.nextInt(letters)));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,160 @@
+package Question3;
+
+import java.util.Arrays;
+
+// Reusable index over p1 for answering Question3a.maxRepetitions for many p2 patterns.
+// next(offset, c) is the first position >= offset in p1 holding c, so matching one copy
+// of p2 costs |p2| table jumps instead of a character-by-character scan of p1. The table
+// is int[(|p1| + 1) * alphabet] over the characters that occur in p1; when that would be
+// too large it falls back to one sorted position list per character and binary search.
+// Immutable after construction; each query keeps its own state, so queries may run
+// concurrently.
+public final class RepetitionIndex {
+    private static final long MAX_TABLE_ENTRIES = 1 << 24;
+
+    private final int length;
+    private final char[] alphabet;         // Distinct characters of p1, sorted
+    private final int[] asciiId;           // Character id for c < 128, -1 if absent
+    private final int[] table;             // next[offset * alphabet + id], -1 past the last one
+    private final int[][] positions;       // Compressed form: sorted positions per id
+
+    public RepetitionIndex(String p1) {
+        if (p1.isEmpty()) {
+            throw new IllegalArgumentException("p1 must not be empty");
+        }
+        length = p1.length();
+        alphabet = p1.chars().distinct().sorted().collect(StringBuilder::new,
+            StringBuilder::appendCodePoint, StringBuilder::append).toString().toCharArray();
+        asciiId = new int[128];
+        Arrays.fill(asciiId, -1);
+        for (int id = 0; id < alphabet.length; id++) {
+            if (alphabet[id] < 128) asciiId[alphabet[id]] = id;
+        }
+
+        int size = alphabet.length;
+        if ((long) (length + 1) * size <= MAX_TABLE_ENTRIES) {
+            table = new int[(length + 1) * size];
+            Arrays.fill(table, length * size, table.length, -1);
+            for (int i = length - 1; i >= 0; i--) {
+                System.arraycopy(table, (i + 1) * size, table, i * size, size);
+                table[i * size + idOf(p1.charAt(i))] = i;
+            }
+            positions = null;
+        } else {
+            int[] counts = new int[size];
+            for (int i = 0; i < length; i++) counts[idOf(p1.charAt(i))]++;
+            positions = new int[size][];
+            for (int id = 0; id < size; id++) positions[id] = new int[counts[id]];
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < length; i++) {
+                int id = idOf(p1.charAt(i));
+                positions[id][counts[id]++] = i;
+            }
+            table = null;
+        }
+    }
+
+    public int patternLength() {
+        return length;
+    }
+
+    // Same result as Question3a.maxRepetitions(p1, t1, p2, t2) for the indexed p1
+    public long maxRepetitions(long t1, String p2, long t2) {
+        return count(t1, p2, t2, new long[length], new long[length], new int[length], 1);
+    }
+
+    // One answer per (patterns[q], t2s[q]) pair, all against t1 copies of p1
+    public long[] maxRepetitions(long t1, String[] patterns, long[] t2s) {
+        if (patterns.length != t2s.length) {
+            throw new IllegalArgumentException("Every pattern needs a t2");
+        }
+        long[] seenCopies = new long[length];
+        long[] seenBlocks = new long[length];
+        int[] stamp = new int[length];
+        long[] answers = new long[patterns.length];
+        for (int q = 0; q < patterns.length; q++) {
+            answers[q] = count(t1, patterns[q], t2s[q], seenCopies, seenBlocks, stamp, q + 1);
+        }
+        return answers;
+    }
+
+    // Matches p2 copy by copy. The state between copies is the offset reached in p1, so
+    // within |p1| + 1 copies an offset repeats; the periodic middle is then skipped.
+    // stamp[offset] == query marks offsets seen by this query, so scratch is never cleared.
+    private long count(long t1, String p2, long t2, long[] seenCopies, long[] seenBlocks, int[] stamp, int query) {
+        if (t1 <= 0 || t2 <= 0) return Math.min(0, t2);
+        if (p2.isEmpty()) {
+            throw new IllegalArgumentException("p2 must not be empty");
+        }
+        int[] ids = new int[p2.length()];
+        for (int k = 0; k < ids.length; k++) {
+            ids[k] = idOf(p2.charAt(k));
+            if (ids[k] < 0) return 0;   // p2 uses a character p1 never provides
+        }
+
+        long copies = 0, block = 0;
+        int offset = 0;
+        boolean skipped = false;
+        while (copies < t2) {
+            long b = block;
+            int o = offset;
+            for (int id : ids) {
+                int p = next(o, id);
+                if (p < 0) {
+                    b++;
+                    p = next(0, id);
+                }
+                o = p + 1;
+            }
+            if (b >= t1) break;         // The copy would end past the last copy of p1
+            copies++;
+            block = b;
+            offset = o;
+            if (offset == length) {
+                block++;
+                offset = 0;
+            }
+
+            if (skipped) continue;
+            if (stamp[offset] == query) {
+                long periodCopies = copies - seenCopies[offset];
+                long periodBlocks = block - seenBlocks[offset];
+                long periods = Math.max(0, (t1 - 1 - block) / periodBlocks);
+                periods = Math.min(periods, (t2 - copies) / periodCopies);
+                copies += periods * periodCopies;
+                block += periods * periodBlocks;
+                skipped = true;
+            } else {
+                stamp[offset] = query;
+                seenCopies[offset] = copies;
+                seenBlocks[offset] = block;
+            }
+        }
+        return copies;
+    }
+
+    // First position >= offset in p1 holding the character with this id, or -1
+    int next(int offset, int id) {
+        if (table != null) {
+            return table[offset * alphabet.length + id];
+        }
+        int[] list = positions[id];
+        int lo = 0, hi = list.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (list[mid] < offset) lo = mid + 1; else hi = mid;
+        }
+        return lo < list.length ? list[lo] : -1;
+    }
+
+    // Dense id of a character of p1, or -1 when p1 does not contain it
+    int idOf(char c) {
+        if (c < 128) return asciiId[c];
+        int id = Arrays.binarySearch(alphabet, c);
+        return id >= 0 ? id : -1;
+    }
+
+    int alphabetSize() {
+        return alphabet.length;
+    }
+}
@@ -0,0 +1,88 @@
+package Question3;
+
+// Doubling table for sweeping Question3a.maxRepetitions over many (t1, t2) pairs for one
+// fixed (p1, p2). The matching state between copies of p1 is the position reached in p2,
+// so for each start position j and level i the table stores how many p2 copies 2^i copies
+// of p1 complete and where in p2 they stop. A query walks the bits of t1, so each point
+// of a sweep costs O(log t1) after O(|p1|·|p2| + |p2|·log t) preprocessing.
+public final class RepetitionJumpTable {
+    private static final int LEVELS = 63;   // Enough for any positive long t1
+
+    private final int[][] stop;      // stop[i][j]: p2 position after 2^i copies of p1 from j
+    private final long[][] copies;   // copies[i][j]: p2 copies completed meanwhile, saturating
+
+    public RepetitionJumpTable(String p1, String p2) {
+        if (p1.isEmpty() || p2.isEmpty()) {
+            throw new IllegalArgumentException("Patterns must not be empty");
+        }
+        int len2 = p2.length();
+        stop = new int[LEVELS][len2];
+        copies = new long[LEVELS][len2];
+
+        // Level 0: one copy of p1 from every start position in p2
+        for (int start = 0; start < len2; start++) {
+            int j = start;
+            long matched = 0;
+            for (int i = 0; i < p1.length(); i++) {
+                if (p1.charAt(i) == p2.charAt(j)) {
+                    j++;
+                    if (j == len2) {
+                        j = 0;
+                        matched++;
+                    }
+                }
+            }
+            stop[0][start] = j;
+            copies[0][start] = matched;
+        }
+        for (int level = 1; level < LEVELS; level++) {
+            for (int j = 0; j < len2; j++) {
+                int half = stop[level - 1][j];
+                stop[level][j] = stop[level - 1][half];
+                copies[level][j] = saturatedAdd(copies[level - 1][j], copies[level - 1][half]);
+            }
+        }
+    }
+
+    // p2 copies completed within t1 copies of p1 (Long.MAX_VALUE if that overflows)
+    public long copiesIn(long t1) {
+        long total = 0;
+        int j = 0;
+        for (int level = 0; level < LEVELS && t1 >>> level != 0; level++) {
+            if ((t1 >>> level & 1) != 0) {
+                total = saturatedAdd(total, copies[level][j]);
+                j = stop[level][j];
+            }
+        }
+        return total;
+    }
+
+    // Same result as Question3a.maxRepetitions(p1, t1, p2, t2)
+    public long maxRepetitions(long t1, long t2) {
+        if (t1 <= 0) return Math.min(0, t2);
+        return Math.min(copiesIn(t1), t2);
+    }
+
+    // Fewest copies of p1 that contain t2 copies of p2, or -1 if no number of copies does
+    public long blocksFor(long t2) {
+        if (t2 <= 0) return 0;
+        // Largest block count whose copies stay below t2, built from the top bit down
+        long blocks = 0;
+        long total = 0;
+        int j = 0;
+        for (int level = LEVELS - 1; level >= 0; level--) {
+            long next = saturatedAdd(total, copies[level][j]);
+            if (next < t2) {
+                blocks |= 1L << level;
+                total = next;
+                j = stop[level][j];
+            }
+        }
+        return blocks == Long.MAX_VALUE ? -1 : blocks + 1;
+    }
+
+    private static long saturatedAdd(long a, long b) {
+        long sum = a + b;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+}
@@ -0,0 +1,124 @@
+package Question3;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+// Counts greedy, non-overlapping subsequence copies of many patterns in one pass over an
+// arbitrary byte stream, the Question3a matching rule without assuming the input is p1
+// repeated. Every pattern waits on exactly one byte (its next unmatched one), so patterns
+// are kept in one intrusive list per byte value: an input byte detaches its list, advances
+// each waiting pattern and relinks it under its new byte. A byte therefore costs
+// O(patterns waiting on it), not one step per pattern. Not thread-safe.
+public final class StreamingSubsequenceCounter {
+    private static final int NONE = -1;
+
+    private final byte[][] patterns;
+    private final int[] position;    // Next byte to match, per pattern
+    private final long[] copies;     // Complete copies matched, per pattern
+    private final int[] waiting = new int[256];   // First pattern waiting on each byte value
+    private final int[] nextWaiting;              // Next pattern in the same list
+    private long bytesConsumed;
+
+    public StreamingSubsequenceCounter(byte[][] patterns) {
+        this.patterns = new byte[patterns.length][];
+        this.position = new int[patterns.length];
+        this.copies = new long[patterns.length];
+        this.nextWaiting = new int[patterns.length];
+        Arrays.fill(waiting, NONE);
+        for (int id = 0; id < patterns.length; id++) {
+            if (patterns[id].length == 0) {
+                throw new IllegalArgumentException("Pattern " + id + " is empty");
+            }
+            this.patterns[id] = patterns[id].clone();
+            link(id, this.patterns[id][0] & 0xFF);
+        }
+    }
+
+    public static StreamingSubsequenceCounter of(String... patterns) {
+        byte[][] bytes = new byte[patterns.length][];
+        for (int i = 0; i < patterns.length; i++) {
+            bytes[i] = patterns[i].getBytes(StandardCharsets.UTF_8);
+        }
+        return new StreamingSubsequenceCounter(bytes);
+    }
+
+    public void accept(byte b) {
+        int value = b & 0xFF;
+        int id = waiting[value];
+        if (id == NONE) return;
+        waiting[value] = NONE;
+        while (id != NONE) {
+            int following = nextWaiting[id];
+            byte[] pattern = patterns[id];
+            int p = position[id] + 1;
+            if (p == pattern.length) {
+                p = 0;
+                copies[id]++;
+            }
+            position[id] = p;
+            link(id, pattern[p] & 0xFF);
+            id = following;
+        }
+    }
+
+    public void accept(ByteBuffer buffer) {
+        bytesConsumed += buffer.remaining();
+        while (buffer.hasRemaining()) {
+            accept(buffer.get());
+        }
+    }
+
+    // Reads the channel to its end; the channel is not closed
+    public void consume(ReadableByteChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16);
+        while (channel.read(buffer) >= 0) {
+            buffer.flip();
+            accept(buffer);
+            buffer.clear();
+        }
+    }
+
+    public long copies(int pattern) {
+        return copies[pattern];
+    }
+
+    public int patternCount() {
+        return patterns.length;
+    }
+
+    // Bytes seen through accept(ByteBuffer) and consume()
+    public long bytesConsumed() {
+        return bytesConsumed;
+    }
+
+    private void link(int id, int value) {
+        nextWaiting[id] = waiting[value];
+        waiting[value] = id;
+    }
+
+    // java Question3.StreamingSubsequenceCounter <file> <pattern>...   counts patterns in a file
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: java Question3.StreamingSubsequenceCounter <file> <pattern>...");
+            System.exit(1);
+        }
+        String[] patterns = Arrays.copyOfRange(args, 1, args.length);
+        StreamingSubsequenceCounter counter = of(patterns);
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(Paths.get(args[0]), StandardOpenOption.READ)) {
+            counter.consume(channel);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        for (int i = 0; i < patterns.length; i++) {
+            System.out.println(patterns[i] + ": " + counter.copies(i));
+        }
+        System.out.printf("%d bytes in %.3f s (%.1f MB/s)%n", counter.bytesConsumed(), seconds,
+                          counter.bytesConsumed() / seconds / 1e6);
+    }
+}
@@ -0,0 +1,386 @@
+package checks;
+
+import Question1.PinAnalysis;
+import Question1.PinPolicy;
+import Question1.Question1b;
+import Question2.AnomalousPeriodIterator;
+import Question2.AnomalyEngine;
+import Question2.ColumnSolver;
+import Question2.CryptarithmPuzzle;
+import Question2.ParallelCryptarithmSolver;
+import Question2.Question2a;
+import Question2.Question2b;
+import Question2.StreamingAnomalyCounter;
+import Question3.Question3a;
+import Question3.RepetitionIndex;
+import Question3.RepetitionJumpTable;
+import Question3.StreamingSubsequenceCounter;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+// Randomised cross-checks of the optimised engines against the original Question
+// solutions or a brute force, kept out of the engine classes themselves.
+// Every check throws IllegalStateException on the first disagreement.
+// Usage: java checks.CrossChecks
+public final class CrossChecks {
+    private CrossChecks() {}
+
+    public static void main(String[] args) {
+        Random random = new Random(2024);
+        strongPINChanges(random);
+        anomalyEngine(random);
+        wideAnomalyBands(random);
+        streamingAnomalyCounter(random);
+        anomalousPeriodIterator(random);
+        columnSolver(random);
+        parallelCryptarithmSolver(random);
+        maxRepetitions(random);
+        repetitionIndex(random);
+        repetitionJumpTable(random);
+        streamingSubsequenceCounter(random);
+    }
+
+    // Every PIN scoring path against the textbook strong-password solution
+    private static void strongPINChanges(Random random) {
+        PinPolicy.Evaluator policy = PinPolicy.BANK_DEFAULT.compile();
+        String alphabet = "aaaaabBB11!";
+        for (int trial = 0; trial < 200_000; trial++) {
+            String pin = trial == 0 ? "aaaBc1defghijklmnopqr" : randomText(random, alphabet, random.nextInt(45));
+            int expected = referencePINChanges(pin);
+            byte[] padded = ("##" + pin + "##").getBytes(StandardCharsets.US_ASCII);
+            int[] actual = {
+                Question1b.strongPINChanges(pin), PinAnalysis.of(pin).changes(),
+                PinAnalysis.of(padded, 2, pin.length()).changes(), policy.changes(padded, 2, pin.length()),
+                policy.changes(ByteBuffer.wrap(padded), 2, pin.length() + 2)
+            };
+            for (int changes : actual) {
+                if (changes != expected) {
+                    throw new IllegalStateException("Mismatch on \"" + pin + "\": expected " + expected
+                                                    + ", got " + Arrays.toString(actual));
+                }
+            }
+        }
+        System.out.println("PIN change counts match the reference solution on 200000 random PINs");
+    }
+
+    private static void anomalyEngine(Random random) {
+        for (int trial = 0; trial < 2000; trial++) {
+            int[] changes = randomChanges(random, random.nextInt(200));
+            int low = random.nextInt(41) - 20;
+            int high = low + random.nextInt(30);
+
+            long expected = Question2a.countAnomalousPeriods(changes, low, high);
+            check(changes, low, high, expected, AnomalyEngine.countAnomalousPeriods(changes, low, high));
+            check(changes, low, high, expected, AnomalyEngine.countAnomalousPeriodsParallel(
+                changes, low, high, ForkJoinPool.commonPool(), 1 + random.nextInt(16)));
+            check(changes, low, high, expected, AnomalyEngine.countAnomalousPeriods(
+                changes, new long[]{low, high, low}, new long[]{high, high + 5, high})[0]);
+        }
+        System.out.println("AnomalyEngine matches Question2a.countAnomalousPeriods on 2000 random series");
+    }
+
+    // Extreme readings and bands reaching Long.MIN_VALUE / Long.MAX_VALUE, where
+    // p - low and p - high would overflow without clamping
+    private static void wideAnomalyBands(Random random) {
+        long[] edges = {Long.MIN_VALUE, Long.MIN_VALUE + 1, -(1L << 62), Integer.MIN_VALUE, -1, 0, 1,
+                        Integer.MAX_VALUE, 1L << 62, Long.MAX_VALUE - 1, Long.MAX_VALUE};
+        int[] readings = {Integer.MIN_VALUE, Integer.MIN_VALUE + 1, -1, 0, 1, Integer.MAX_VALUE};
+        for (int trial = 0; trial < 2000; trial++) {
+            int[] changes = new int[random.nextInt(30)];
+            for (int i = 0; i < changes.length; i++) {
+                changes[i] = random.nextBoolean() ? readings[random.nextInt(readings.length)] : random.nextInt();
+            }
+            long low = edges[random.nextInt(edges.length)];
+            long high = edges[random.nextInt(edges.length)];
+
+            long expected = bruteForceCount(changes, low, high);
+            check(changes, low, high, expected, AnomalyEngine.countAnomalousPeriods(changes, low, high));
+            check(changes, low, high, expected, AnomalyEngine.countAnomalousPeriodsParallel(
+                changes, low, high, ForkJoinPool.commonPool(), 1 + random.nextInt(8)));
+            check(changes, low, high, expected, AnomalyEngine.countAnomalousPeriods(
+                changes, new long[]{low, Long.MIN_VALUE}, new long[]{high, Long.MAX_VALUE})[0]);
+            check(changes, low, high, expected, AnomalousPeriodIterator.stream(changes, low, high).count());
+            StreamingAnomalyCounter counter = new StreamingAnomalyCounter(Math.max(1, changes.length), low, high);
+            for (int change : changes) counter.push(change);
+            check(changes, low, high, expected, counter.currentCount());
+        }
+        System.out.println("Anomaly counts stay exact for extreme readings and full-range bands on 2000 random series");
+    }
+
+    private static void streamingAnomalyCounter(Random random) {
+        for (int trial = 0; trial < 500; trial++) {
+            int window = 1 + random.nextInt(40);
+            int low = random.nextInt(41) - 20;
+            int high = low + random.nextInt(30) - 3;   // Occasionally an empty band
+            StreamingAnomalyCounter counter = new StreamingAnomalyCounter(window, low, high);
+            int[] changes = randomChanges(random, random.nextInt(200));
+            for (int i = 0; i < changes.length; i++) {
+                counter.push(changes[i]);
+                int from = Math.max(0, i + 1 - window);
+                long expected = bruteForceCount(Arrays.copyOfRange(changes, from, i + 1), low, high);
+                if (counter.currentCount() != expected || counter.readings() != Math.min(i + 1, window)) {
+                    throw new IllegalStateException("Mismatch after " + (i + 1) + " readings, window " + window
+                        + " [" + low + ", " + high + "]: expected " + expected + ", got " + counter.currentCount());
+                }
+            }
+        }
+        System.out.println("StreamingAnomalyCounter matches a brute-force window recount on 500 random feeds");
+    }
+
+    // Includes calls to next() after the iterator is exhausted
+    private static void anomalousPeriodIterator(Random random) {
+        for (int trial = 0; trial < 2000; trial++) {
+            int[] changes = randomChanges(random, random.nextInt(60));
+            int low = random.nextInt(41) - 20;
+            int high = low + random.nextInt(30) - 3;
+
+            long[] expected = new long[changes.length * (changes.length + 1) / 2];
+            int size = 0;
+            for (int end = 0; end < changes.length; end++) {
+                long total = 0;
+                for (int start = end; start >= 0; start--) {
+                    total += changes[start];
+                    if (total >= low && total <= high) expected[size++] = ((long) start << 32) | end;
+                }
+            }
+            Arrays.sort(expected, 0, size);
+
+            AnomalousPeriodIterator it = new AnomalousPeriodIterator(changes, low, high);
+            long[] actual = new long[size];
+            int produced = 0;
+            while (it.next()) {
+                if (produced == size) {
+                    throw new IllegalStateException("Too many periods on " + Arrays.toString(changes));
+                }
+                long sum = 0;
+                for (int day = it.start(); day <= it.end(); day++) sum += changes[day];
+                if (sum != it.total()) {
+                    throw new IllegalStateException("Wrong total on " + Arrays.toString(changes));
+                }
+                actual[produced++] = ((long) it.start() << 32) | it.end();
+            }
+            for (int extra = 0; extra < 3; extra++) {
+                if (it.next()) throw new IllegalStateException("next() after exhaustion returned true");
+            }
+            Arrays.sort(actual, 0, produced);
+            if (produced != size || !Arrays.equals(expected, 0, size, actual, 0, produced)
+                    || AnomalousPeriodIterator.stream(changes, low, high).count() != size) {
+                throw new IllegalStateException("Mismatch on " + Arrays.toString(changes)
+                    + " [" + low + ", " + high + "]: expected " + size + " periods, got " + produced);
+            }
+        }
+        System.out.println("AnomalousPeriodIterator matches a brute-force enumeration on 2000 random series");
+    }
+
+    private static void columnSolver(Random random) {
+        String alphabet = "ABCDEFGHIJK";
+        for (int trial = 0; trial < 300; trial++) {
+            String word1 = randomText(random, alphabet, 1 + random.nextInt(4));
+            String word2 = randomText(random, alphabet, 1 + random.nextInt(4));
+            String result = randomText(random, alphabet, 1 + random.nextInt(5));
+            CryptarithmPuzzle puzzle = CryptarithmPuzzle.of(word1, word2, result);
+            boolean expected = Question2b.isSolvable(word1, word2, result);
+            int[] digits = ColumnSolver.solve(puzzle);
+            if (expected != (digits != null) || (digits != null && !puzzle.check(digits))) {
+                throw new IllegalStateException("Mismatch on " + word1 + " + " + word2 + " = " + result);
+            }
+        }
+        System.out.println("ColumnSolver matches Question2b.isSolvable on 300 random puzzles");
+    }
+
+    private static void parallelCryptarithmSolver(Random random) {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        String alphabet = "ABCDEFG";
+        for (int trial = 0; trial < 200; trial++) {
+            String[] addends = new String[1 + random.nextInt(3)];
+            for (int w = 0; w < addends.length; w++) {
+                addends[w] = randomText(random, alphabet, 1 + random.nextInt(3));
+            }
+            String result = randomText(random, alphabet, 1 + random.nextInt(4));
+            CryptarithmPuzzle puzzle = CryptarithmPuzzle.of(addends, result);
+
+            long expected = bruteForceSolutions(puzzle, new int[puzzle.letterCount()], 0, 0);
+            long counted = ParallelCryptarithmSolver.countSolutions(puzzle, pool);
+            List<int[]> listed = ParallelCryptarithmSolver.solutions(puzzle, pool);
+            for (int[] digits : listed) {
+                if (!puzzle.check(digits)) throw new IllegalStateException("Invalid solution listed");
+            }
+            if (counted != expected || listed.size() != expected) {
+                throw new IllegalStateException("Mismatch on " + String.join(" + ", addends) + " = " + result
+                    + ": expected " + expected + ", counted " + counted + ", listed " + listed.size());
+            }
+        }
+        System.out.println("ParallelCryptarithmSolver matches a brute force on 200 random puzzles");
+    }
+
+    private static void maxRepetitions(Random random) {
+        for (int trial = 0; trial < 2000; trial++) {
+            String p1 = randomText(random, "abc", 1 + random.nextInt(8));
+            String p2 = randomText(random, "abc", 1 + random.nextInt(5));
+            int t1 = random.nextInt(60);
+            if (Question3a.maxRepetitions(p1, (long) t1, p2, Long.MAX_VALUE) != simulate(p1, t1, p2)) {
+                throw new IllegalStateException("Mismatch for [" + p1 + ", " + t1 + "] / " + p2);
+            }
+        }
+        System.out.println("Question3a.maxRepetitions matches the plain simulation on 2000 random patterns");
+    }
+
+    private static void repetitionIndex(Random random) {
+        for (int trial = 0; trial < 2000; trial++) {
+            String p1 = randomText(random, "abc", 1 + random.nextInt(8));
+            String p2 = randomText(random, "abcd", 1 + random.nextInt(5));
+            long t1 = random.nextInt(60), t2 = random.nextInt(80);
+            long expected = Question3a.maxRepetitions(p1, t1, p2, t2);
+            long actual = new RepetitionIndex(p1).maxRepetitions(t1, p2, t2);
+            if (expected != actual) {
+                throw new IllegalStateException("Mismatch for [" + p1 + ", " + t1 + "] / [" + p2 + ", " + t2
+                                                + "]: expected " + expected + ", got " + actual);
+            }
+        }
+        System.out.println("RepetitionIndex matches Question3a.maxRepetitions on 2000 random queries");
+    }
+
+    private static void repetitionJumpTable(Random random) {
+        for (int trial = 0; trial < 2000; trial++) {
+            String p1 = randomText(random, "abc", 1 + random.nextInt(8));
+            String p2 = randomText(random, "abc", 1 + random.nextInt(5));
+            RepetitionJumpTable table = new RepetitionJumpTable(p1, p2);
+            for (int query = 0; query < 5; query++) {
+                long t1 = random.nextInt(100), t2 = random.nextInt(120);
+                long expected = Question3a.maxRepetitions(p1, t1, p2, t2);
+                if (table.maxRepetitions(t1, t2) != expected) {
+                    throw new IllegalStateException("Mismatch for [" + p1 + ", " + t1 + "] / [" + p2 + ", " + t2 + "]");
+                }
+                long blocks = table.blocksFor(t2);
+                if (blocks >= 0 && (table.copiesIn(blocks) < t2 || (blocks > 0 && table.copiesIn(blocks - 1) >= t2))) {
+                    throw new IllegalStateException("blocksFor(" + t2 + ") is not minimal for [" + p1 + "] / [" + p2 + "]");
+                }
+            }
+        }
+        System.out.println("RepetitionJumpTable matches Question3a.maxRepetitions on 10000 random queries");
+    }
+
+    private static void streamingSubsequenceCounter(Random random) {
+        for (int trial = 0; trial < 500; trial++) {
+            String p1 = randomText(random, "abc", 1 + random.nextInt(8));
+            int t1 = random.nextInt(40);
+            String[] patterns = new String[1 + random.nextInt(6)];
+            for (int i = 0; i < patterns.length; i++) {
+                patterns[i] = randomText(random, "abc", 1 + random.nextInt(5));
+            }
+            StreamingSubsequenceCounter counter = StreamingSubsequenceCounter.of(patterns);
+            counter.accept(ByteBuffer.wrap(p1.repeat(t1).getBytes(StandardCharsets.UTF_8)));
+            for (int i = 0; i < patterns.length; i++) {
+                long expected = Question3a.maxRepetitions(p1, (long) t1, patterns[i], Long.MAX_VALUE);
+                if (counter.copies(i) != expected) {
+                    throw new IllegalStateException("Mismatch for [" + p1 + ", " + t1 + "] / " + patterns[i]);
+                }
+            }
+        }
+        System.out.println("StreamingSubsequenceCounter matches Question3a.maxRepetitions on 500 random streams");
+    }
+
+    // Minimum edits to a 6-20 character PIN with a lower, an upper and a digit and no
+    // three identical characters in a row: the standard greedy for that problem
+    private static int referencePINChanges(String pin) {
+        int n = pin.length();
+        boolean lower = false, upper = false, digit = false;
+        for (int i = 0; i < n; i++) {
+            char c = pin.charAt(i);
+            lower |= Character.isLowerCase(c);
+            upper |= Character.isUpperCase(c);
+            digit |= Character.isDigit(c);
+        }
+        int missing = (lower ? 0 : 1) + (upper ? 0 : 1) + (digit ? 0 : 1);
+        if (n < 6) return Math.max(missing, 6 - n);
+
+        int replace = 0, modZero = 0, modOne = 0;
+        for (int i = 0; i < n; ) {
+            int j = i;
+            while (j < n && pin.charAt(j) == pin.charAt(i)) j++;
+            int run = j - i;
+            if (run >= 3) {
+                replace += run / 3;
+                if (run % 3 == 0) modZero++;
+                else if (run % 3 == 1) modOne++;
+            }
+            i = j;
+        }
+        if (n <= 20) return Math.max(missing, replace);
+
+        int delete = n - 20;
+        replace -= Math.min(delete, modZero);
+        replace -= Math.min(Math.max(delete - modZero, 0), modOne * 2) / 2;
+        replace -= Math.max(delete - modZero - 2 * modOne, 0) / 3;
+        return delete + Math.max(missing, replace);
+    }
+
+    // Periods of the series whose total lies in [low, high], one by one
+    private static long bruteForceCount(int[] changes, long low, long high) {
+        long count = 0;
+        for (int start = 0; start < changes.length; start++) {
+            long total = 0;
+            for (int end = start; end < changes.length; end++) {
+                total += changes[end];
+                if (total >= low && total <= high) count++;
+            }
+        }
+        return count;
+    }
+
+    private static long bruteForceSolutions(CryptarithmPuzzle puzzle, int[] digits, int letter, int used) {
+        if (letter == digits.length) return puzzle.check(digits) ? 1 : 0;
+        long count = 0;
+        for (int d = 0; d <= 9; d++) {
+            if ((used >>> d & 1) != 0) continue;
+            digits[letter] = d;
+            count += bruteForceSolutions(puzzle, digits, letter + 1, used | 1 << d);
+        }
+        return count;
+    }
+
+    // Character-by-character walk over t1 copies of p1, the original Question3a loop
+    private static long simulate(String p1, long t1, String p2) {
+        int i = 0, j = 0;
+        long count1 = 0, count2 = 0;
+        while (count1 < t1) {
+            if (p1.charAt(i) == p2.charAt(j) && ++j == p2.length()) {
+                j = 0;
+                count2++;
+            }
+            if (++i == p1.length()) {
+                i = 0;
+                count1++;
+            }
+        }
+        return count2;
+    }
+
+    private static void check(int[] changes, long low, long high, long expected, long actual) {
+        if (expected != actual) {
+            throw new IllegalStateException("Mismatch on " + Arrays.toString(changes)
+                + " [" + low + ", " + high + "]: expected " + expected + ", got " + actual);
+        }
+    }
+
+    private static int[] randomChanges(Random random, int days) {
+        int[] changes = new int[days];
+        for (int i = 0; i < days; i++) {
+            changes[i] = random.nextInt(21) - 10;
+        }
+        return changes;
+    }
+
+    private static String randomText(Random random, String alphabet, int length) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return sb.toString();
+    }
+}
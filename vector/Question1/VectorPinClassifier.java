@@ -0,0 +1,54 @@
+package Question1;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// SIMD PinClassifier built on the incubating Vector API.
+// Each stride compares a full vector of bytes (32 or 64 lanes, depending on the CPU)
+// against the class ranges at once; triple repeats are found by comparing the stride
+// with the same bytes loaded one and two lanes further on. The tail is handled with masks.
+// Kept in the separate vector/ source root so the Question folders compile without the
+// incubator module; compile it with --add-modules jdk.incubator.vector and use PinClassifier.best().
+final class VectorPinClassifier implements PinClassifier {
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+
+    @Override
+    public int classify(byte[] pins, int from, int to) {
+        int mask = 0;
+        for (int i = from; i < to; i += SPECIES.length()) {
+            VectorMask<Byte> lanes = SPECIES.indexInRange(i, to);
+            ByteVector v = ByteVector.fromArray(SPECIES, pins, i, lanes);
+
+            VectorMask<Byte> lower = v.compare(VectorOperators.GE, (byte) 'a')
+                                      .and(v.compare(VectorOperators.LE, (byte) 'z'));
+            VectorMask<Byte> upper = v.compare(VectorOperators.GE, (byte) 'A')
+                                      .and(v.compare(VectorOperators.LE, (byte) 'Z'));
+            VectorMask<Byte> digit = v.compare(VectorOperators.GE, (byte) '0')
+                                      .and(v.compare(VectorOperators.LE, (byte) '9'));
+            lower = lower.and(lanes);
+            upper = upper.and(lanes);
+            digit = digit.and(lanes);
+            VectorMask<Byte> other = lanes.andNot(lower.or(upper).or(digit));
+
+            if (lower.anyTrue()) mask |= PinAnalysis.LOWER;
+            if (upper.anyTrue()) mask |= PinAnalysis.UPPER;
+            if (digit.anyTrue()) mask |= PinAnalysis.DIGIT;
+            if (other.anyTrue()) mask |= PinAnalysis.OTHER;
+
+            // Lane j starts a triple when bytes j, j + 1 and j + 2 are equal
+            if ((mask & TRIPLE_REPEAT) == 0 && to - 2 > i) {
+                VectorMask<Byte> starts = SPECIES.indexInRange(i, to - 2);
+                ByteVector next = ByteVector.fromArray(SPECIES, pins, i + 1, starts);
+                ByteVector afterNext = ByteVector.fromArray(SPECIES, pins, i + 2, starts);
+                if (v.compare(VectorOperators.EQ, next)
+                     .and(next.compare(VectorOperators.EQ, afterNext))
+                     .and(starts).anyTrue()) {
+                    mask |= TRIPLE_REPEAT;
+                }
+            }
+        }
+        return mask;
+    }
+}